@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.admin;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+
+/**
+ * Admin portal specifics of the services shared by the portals. The admin portal is served for the super tenant only.
+ */
+public class AdminPortal implements Portal {
+
+    private static final String SUPER_TENANT_DOMAIN = "carbon.super";
+    private static final List<String> SETTINGS_API_PATHS = Collections.singletonList("/api/am/admin/v4/settings");
+    private static final Map<String, String> API_ACCESS_TOKEN_COOKIES;
+
+    static {
+        Map<String, String> cookies = new LinkedHashMap<>();
+        cookies.put("/api/am/admin/", "AM_ACC_TOKEN_DEFAULT_P2");
+        cookies.put("/api/am/governance/", "AM_ADMIN_ACC_TOKEN_DEFAULT_P2");
+        API_ACCESS_TOKEN_COOKIES = Collections.unmodifiableMap(cookies);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "admin portal";
+    }
+
+    @Override
+    public String getSettingsPath() {
+        return "/site/public/conf/settings.json";
+    }
+
+    @Override
+    public String getClientAppName() {
+        return "apim_admin_portal";
+    }
+
+    @Override
+    public String[] getLegacyClientAppNames() {
+        return new String[0];
+    }
+
+    @Override
+    public String getContext(HttpServletRequest request, Map settings) {
+        return Util.readJsonString(settings, "app.context");
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(HttpServletRequest request) {
+        return SUPER_TENANT_DOMAIN;
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(TenantContext tenantContext) {
+        return SUPER_TENANT_DOMAIN;
+    }
+
+    @Override
+    public List<String> getSettingsApiPaths() {
+        return SETTINGS_API_PATHS;
+    }
+
+    @Override
+    public String getLoopbackOrigin(String host) {
+        return Util.getLoopbackOrigin(host);
+    }
+
+    @Override
+    public String getUserInfoAuthorization(String token) {
+        return "Bearer " + token;
+    }
+
+    @Override
+    public Map<String, String> getApiAccessTokenCookies() {
+        return API_ACCESS_TOKEN_COOKIES;
+    }
+
+    @Override
+    public Map introspected(Map introspection) {
+        return introspection;
+    }
+}
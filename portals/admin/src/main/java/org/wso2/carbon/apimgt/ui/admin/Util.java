@@ -17,31 +17,28 @@
  */
 package org.wso2.carbon.apimgt.ui.admin;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import javax.servlet.ServletContext;
 import org.wso2.carbon.apimgt.api.APIManagementException;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
 
 public class Util {
 
     /**
-     * Read a json file from the directory and output as a Map object.
+     * Read a json file from the directory and output as a Map object. <br>
+     * The file is parsed once and shared between requests; the returned map is a copy-on-write view of it, hence
+     * changes done to the map are visible to the caller only.
      * @param path    path to the json file
      * @param context servlet context of the web application
      * @return map of read json file
      * @throws FileNotFoundException if the file is not found in the given path
      */
     public static Map<String, Object> readJsonFile(String path, ServletContext context) throws FileNotFoundException {
-        String realPath = context.getRealPath(path);
-        BufferedReader bufferedReader = new BufferedReader(new FileReader(realPath));
-        Gson gson = (new GsonBuilder()).setPrettyPrinting().create();
-        return (Map) gson.fromJson(bufferedReader, Map.class);
+        return ConfigStore.getInstance().get(context.getRealPath(path)).view();
     }
 
     /**
@@ -51,20 +48,38 @@ public class Util {
      * @return value in the given path of the nested tree map
      */
     public static Object readJsonObj(Map json, String path) {
-        String[] pathStrings = path.split("\\.");
-        Map nestedJson = json;
+        return JsonPath.compile(path).get(json);
+    }
 
-        for (String pathString : Arrays.copyOfRange(pathStrings, 0, pathStrings.length - 1)) {
-            if (!nestedJson.containsKey(pathString)) {
-                return null;
-            }
-            nestedJson = (Map) nestedJson.get(pathString);
-        }
+    /**
+     * Returns the string value in the given path of the nested tree map.
+     * @param json json object to be read
+     * @param path path to the required value separated by "." for each level
+     * @return string value in the given path, or null if it is missing or not a string
+     */
+    public static String readJsonString(Map json, String path) {
+        return JsonPath.compile(path).getString(json);
+    }
 
-        if (!nestedJson.containsKey(pathStrings[pathStrings.length - 1])) {
-            return null;
-        }
-        return nestedJson.get(pathStrings[pathStrings.length - 1]);
+    /**
+     * Returns the boolean value in the given path of the nested tree map.
+     * @param json         json object to be read
+     * @param path         path to the required value separated by "." for each level
+     * @param defaultValue value to be returned if the value is missing or not a boolean
+     * @return boolean value in the given path
+     */
+    public static boolean readJsonBoolean(Map json, String path, boolean defaultValue) {
+        return JsonPath.compile(path).getBoolean(json, defaultValue);
+    }
+
+    /**
+     * Returns the list in the given path of the nested tree map.
+     * @param json json object to be read
+     * @param path path to the required value separated by "." for each level
+     * @return list in the given path, or null if it is missing or not a list
+     */
+    public static <T> List<T> readJsonList(Map json, String path) {
+        return JsonPath.compile(path).getList(json);
     }
     
     /**
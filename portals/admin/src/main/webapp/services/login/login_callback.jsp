@@ -17,7 +17,6 @@
 --%>
 
 <%@page import="java.util.Base64"%>
-<%@page import="java.util.List"%>
 <%@page import="org.apache.commons.logging.LogFactory"%>
 <%@page import="org.apache.commons.logging.Log"%>
 <%@page import="org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO"%>
@@ -25,12 +24,17 @@
 <%@page import="java.net.URLDecoder"%>
 <%@page import="com.google.gson.Gson"%>
 <%@page import="com.google.gson.JsonObject"%>
-<%@page import="java.net.URI"%>
 <%@page import="java.net.http.HttpResponse"%>
 <%@page import="java.net.http.HttpRequest"%>
-<%@page import="java.net.http.HttpClient"%>
+<%@page import="java.net.http.HttpTimeoutException"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.auth.SystemApplicationCache"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.auth.TokenCookies"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.ForwardedHostValidator"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.LoopbackHttpClient"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.UpstreamRejectedException"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.metrics.Upstream"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.services.ServiceErrors"%>
 <%@page import="java.util.HashMap"%>
-<%@page import="org.wso2.carbon.apimgt.impl.dao.SystemApplicationDAO"%>
 <%@page import="org.wso2.carbon.apimgt.impl.utils.APIUtil"%>
 <%@page import="java.util.Map"%>
 <%@page import="org.wso2.carbon.apimgt.ui.admin.Util"%>
@@ -48,36 +52,18 @@
 
     String serverUrl = "";
     String forwarded_for = request.getHeader((String) Util.readJsonObj(settings, "app.customUrl.forwardedHeader"));
-    boolean customUrlEnabled = (boolean) Util.readJsonObj(settings, "app.customUrl.enabled");
+    boolean customUrlEnabled = Util.readJsonBoolean(settings, "app.customUrl.enabled", false);
     // Host validation against app.customUrl.allowedHosts
     boolean isHostValid = true;
     if (customUrlEnabled && forwarded_for != null && !forwarded_for.isEmpty()) {
-        // Check if allowedHosts is configured
-        List<String> allowedHosts = (List<String>) Util.readJsonObj(settings, "app.customUrl.allowedHosts");
-
-        if (allowedHosts != null && !allowedHosts.isEmpty()) {
-            // Extract hostname from forwarded_for (remove port if present)
-            String forwardedHost = forwarded_for;
-            if (forwardedHost.contains(":")) {
-                forwardedHost = forwardedHost.substring(0, forwardedHost.indexOf(":"));
-            }
-
-            isHostValid = false;
-            for (String allowedHost : allowedHosts) {
-                if (allowedHost != null && allowedHost.equalsIgnoreCase(forwardedHost)) {
-                    isHostValid = true;
-                    break;
-                }
-            }
-
-            if (!isHostValid) {
-                log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
-                response.setStatus(400);
-                response.setContentType("text/html");
-                out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
-                    "<h4>Host validation failed for the request</h4></body></html>");
-                return;
-            }
+        isHostValid = ForwardedHostValidator.get(settings).isAllowed(forwarded_for);
+        if (!isHostValid) {
+            log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
+            response.setStatus(400);
+            response.setContentType("text/html");
+            out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
+                "<h4>Host validation failed for the request</h4></body></html>");
+            return;
         }
     }
 
@@ -99,9 +85,9 @@
         tokenRequestData.put("code", request.getParameter("code"));
         tokenRequestData.put("redirect_uri", loginCallbackUrl);
 
-        SystemApplicationDAO systemApplicationDAO = new SystemApplicationDAO();
+        SystemApplicationCache systemApplicationCache = SystemApplicationCache.get(request.getServletContext());
         // this is to support migration from admin_publisher to apim_publisher
-        SystemApplicationDTO systemApplicationDTO = systemApplicationDAO.getClientCredentialsForApplication(ADMIN_CLIENT_APP_NAME, SUPER_TENANT_DOMAIN);
+        SystemApplicationDTO systemApplicationDTO = systemApplicationCache.getClientCredentials(ADMIN_CLIENT_APP_NAME, SUPER_TENANT_DOMAIN);
         String clientId = systemApplicationDTO.getConsumerKey();
         String clientSecret = systemApplicationDTO.getConsumerSecret();
         String concatenatedCredential = clientId + ":" + clientSecret;
@@ -109,14 +95,24 @@
         String base64encoded = Base64.getEncoder().encodeToString(byteValue);
         String tokenEndpoint = Util.getLoopbackOrigin((String) Util.readJsonObj(settings, "app.origin.host")) + TOKEN_URL_SUFFIX;
         String data = "code=" + request.getParameter("code") + "&grant_type=authorization_code&redirect_uri=" + loginCallbackUrl;
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest post = HttpRequest.newBuilder()
-                .uri(URI.create(tokenEndpoint))
+        LoopbackHttpClient loopbackClient = LoopbackHttpClient.get(request.getServletContext());
+        HttpRequest post = loopbackClient.newRequest(tokenEndpoint)
                 .POST(HttpRequest.BodyPublishers.ofString(data))
                 .header("Content-Type", "application/x-www-form-urlencoded")
                 .header("Authorization", "Basic " + base64encoded)
                 .build();
-        HttpResponse<String> result = client.send(post, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> result;
+        try {
+            result = loopbackClient.send(Upstream.TOKEN, post, HttpResponse.BodyHandlers.ofString());
+        } catch (UpstreamRejectedException e) {
+            log.debug("Token endpoint is busy, the login is rejected");
+            ServiceErrors.sendUnavailable(response, e.getRetryAfterSeconds(), "Key manager is busy, please retry");
+            return;
+        } catch (HttpTimeoutException e) {
+            log.warn("Token endpoint did not respond in time");
+            ServiceErrors.sendTimeout(response, "Token request timed out");
+            return;
+        }
 
         String errorLogin = serverUrl + appContext + "/error-pages?code=";
         boolean responseFailed = false;
@@ -138,21 +134,18 @@
             response.setContentType("application/json");
 
             String accessToken = (String) tokenResponse.get("access_token");
-            int tokenLength = accessToken.length();
 
             String idToken = (String) tokenResponse.get("id_token");
-            int idTokenLength = idToken.length();
 
-            String idTokenPart1 = idToken.substring(0, idTokenLength / 2);
-            String idTokenPart2 = idToken.substring(idTokenLength / 2, idTokenLength);
+            String idTokenPart1 = TokenCookies.firstPart(idToken);
+            String idTokenPart2 = TokenCookies.secondPart(idToken);
 
-            String accessTokenPart1 = accessToken.substring(0, tokenLength / 2);
-            String accessTokenPart2 = accessToken.substring(tokenLength / 2, tokenLength);
+            String accessTokenPart1 = TokenCookies.firstPart(accessToken);
+            String accessTokenPart2 = TokenCookies.secondPart(accessToken);
 
             String refreshToken = (String) tokenResponse.get("refresh_token");
-            tokenLength = refreshToken.length();
-            String refreshTokenPart1 = refreshToken.substring(0, tokenLength / 2);
-            String refreshTokenPart2 = refreshToken.substring(tokenLength / 2, tokenLength);
+            String refreshTokenPart1 = TokenCookies.firstPart(refreshToken);
+            String refreshTokenPart2 = TokenCookies.secondPart(refreshToken);
 
             double expiresIn = (double) tokenResponse.get("expires_in");
 
@@ -185,13 +178,13 @@
             cookie.setPath(context + "/");
             cookie.setHttpOnly(true);
             cookie.setSecure(true);
-            cookie.setMaxAge(86400); // TODO: Default value a day, need to get this from idn configs ~tmkb
+            cookie.setMaxAge(TokenCookies.getRefreshTokenMaxAge(request.getServletContext()));
             response.addCookie(cookie);
 
             cookie = new Cookie("WSO2_AM_REFRESH_TOKEN_1_Default", refreshTokenPart1);
             cookie.setPath(context + "/");
             cookie.setSecure(true);
-            cookie.setMaxAge(86400); // TODO: Default value a day, need to get this from idn configs ~tmkb
+            cookie.setMaxAge(TokenCookies.getRefreshTokenMaxAge(request.getServletContext()));
             response.addCookie(cookie);
 
             cookie = new Cookie("WSO2_AM_TOKEN_1_Default", accessTokenPart1);
@@ -16,10 +16,9 @@
   ~ under the License.
 --%>
 
-<%@page import="com.google.gson.GsonBuilder"%>
-<%@page import="com.google.gson.Gson"%>
 <%@page import="java.util.HashMap"%>
-<%@page import="com.google.gson.JsonObject"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.CachedScript"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.ScriptResponseCache"%>
 <%@page import="org.wso2.carbon.apimgt.ui.admin.Util"%>
 <%@page import="java.util.Map"%>
 
@@ -27,7 +26,6 @@
 
 <%
     Map settings = Util.readJsonFile("/site/public/conf/settings.json", request.getServletContext());
-    response.setContentType("application/javascript");
 
     String serverUrl = Util.getIDPOrigin();
     String customIDPCheckSessionEndpoint = Util.getIDPCheckSessionEndpoint();
@@ -37,8 +35,8 @@
     idp.put("checkSessionEndpoint", customIDPCheckSessionEndpoint);
     settings.put("idp", idp);
 
-    Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    String content = "const AppConfig = " + gson.toJson(settings) + ";";
-
-    out.println(content);
+    String fingerprint = ScriptResponseCache.fingerprint(settings, serverUrl, customIDPCheckSessionEndpoint);
+    CachedScript script = ScriptResponseCache.getInstance().get("admin", fingerprint,
+            () -> ScriptResponseCache.toScript("AppConfig", settings));
+    script.send(request, response);
 %>
@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+
+/**
+ * Loads the settings.json files of the portals, which are packaged into the benchmarks jar by the build.
+ */
+final class BenchmarkSettings {
+
+    static final String DEVPORTAL = "devportal/settings.json";
+    static final String PUBLISHER = "publisher/settings.json";
+
+    private BenchmarkSettings() {
+    }
+
+    /**
+     * Parses the given settings file into plain maps, the way the portals read it before the configuration store.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> parse(String resource) throws IOException {
+        try (Reader reader = new InputStreamReader(open(resource), StandardCharsets.UTF_8)) {
+            return new Gson().fromJson(reader, Map.class);
+        }
+    }
+
+    /**
+     * Copies the given settings file to a temporary file, the way it is deployed in the web application, and returns
+     * its real path to be read through the {@link ConfigStore}.
+     */
+    static String deploy(String resource) throws IOException {
+        Path file = Files.createTempFile("settings", ".json");
+        file.toFile().deleteOnExit();
+        try (InputStream in = open(resource)) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file.toString();
+    }
+
+    private static InputStream open(String resource) throws IOException {
+        InputStream in = BenchmarkSettings.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException(resource + " is not found in the class path");
+        }
+        return in;
+    }
+}
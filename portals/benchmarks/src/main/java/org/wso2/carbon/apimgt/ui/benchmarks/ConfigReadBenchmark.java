@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+
+/**
+ * Measures what every service JSP does first, loading settings.json through Util.readJsonFile and reading the
+ * values it needs, comparing the former parse per request against the configuration store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigReadBenchmark {
+
+    private static final String SETTINGS_PATH = "site/public/theme/settings.json";
+
+    private ServletContext context;
+
+    @Setup
+    public void setup() throws IOException {
+        context = ServletStubs.context(Collections.emptyMap(),
+                Collections.singletonMap(SETTINGS_PATH, BenchmarkSettings.deploy(BenchmarkSettings.DEVPORTAL)));
+    }
+
+    /**
+     * Util.readJsonFile and Util.readJsonObj as they were before the configuration store.
+     */
+    @Benchmark
+    public void parsePerRequest(Blackhole blackhole) throws IOException {
+        Map settings;
+        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(context.getRealPath(SETTINGS_PATH)))) {
+            Gson gson = (new GsonBuilder()).setPrettyPrinting().create();
+            settings = gson.fromJson(bufferedReader, Map.class);
+        }
+        blackhole.consume(JsonPathBenchmark.splitPath(settings, "app.context"));
+        blackhole.consume(JsonPathBenchmark.splitPath(settings, "app.customUrl.forwardedHeader"));
+        blackhole.consume(JsonPathBenchmark.splitPath(settings, "app.customUrl.enabled"));
+        blackhole.consume(JsonPathBenchmark.splitPath(settings, "app.customUrl.allowedHosts"));
+        blackhole.consume(JsonPathBenchmark.splitPath(settings, "app.origin.host"));
+    }
+
+    /**
+     * Util.readJsonFile and the typed Util readers as they are now.
+     */
+    @Benchmark
+    public void configStore(Blackhole blackhole) throws IOException {
+        Map<String, Object> settings = ConfigStore.getInstance().get(context.getRealPath(SETTINGS_PATH)).view();
+        blackhole.consume(JsonPath.compile("app.context").get(settings));
+        blackhole.consume(JsonPath.compile("app.customUrl.forwardedHeader").getString(settings));
+        blackhole.consume(JsonPath.compile("app.customUrl.enabled").getBoolean(settings, false));
+        blackhole.consume(JsonPath.compile("app.customUrl.allowedHosts").getList(settings));
+        blackhole.consume(JsonPath.compile("app.origin.host").get(settings));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.apimgt.ui.common.http.ForwardedHostValidator;
+
+/**
+ * Measures validating the forwarded host against app.customUrl.allowedHosts, which the service JSPs do on every
+ * request when a custom URL is enabled, comparing the former linear scan of the list against the compiled
+ * {@link ForwardedHostValidator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForwardedHostBenchmark {
+
+    @Param({"3", "50"})
+    public int allowedHostCount;
+
+    /**
+     * The last allowed host with a port, which is the worst case of an allowed host, or a host which is not allowed.
+     */
+    @Param({"allowed", "blocked"})
+    public String forwardedHost;
+
+    private List<String> allowedHosts;
+    private ForwardedHostValidator validator;
+    private ForwardedHostValidator wildcardValidator;
+    private String forwardedFor;
+
+    @Setup
+    public void setup() {
+        allowedHosts = new ArrayList<>(allowedHostCount);
+        for (int i = 0; i < allowedHostCount; i++) {
+            allowedHosts.add("portal" + i + ".apim.wso2.test");
+        }
+        if ("allowed".equals(forwardedHost)) {
+            forwardedFor = "Portal" + (allowedHostCount - 1) + ".APIM.wso2.test:9443";
+        } else {
+            forwardedFor = "attacker.example.com";
+        }
+        validator = ForwardedHostValidator.compile(allowedHosts);
+        List<String> wildcardHosts = new ArrayList<>(allowedHosts);
+        wildcardHosts.add("*.apim.wso2.test");
+        wildcardValidator = ForwardedHostValidator.compile(wildcardHosts);
+        boolean expected = "allowed".equals(forwardedHost);
+        if (linearScan(forwardedFor, allowedHosts) != expected || validator.isAllowed(forwardedFor) != expected
+                || wildcardValidator.isAllowed(forwardedFor) != expected) {
+            throw new IllegalStateException(forwardedFor + " is expected to be " + forwardedHost);
+        }
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        return linearScan(forwardedFor, allowedHosts);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return validator.isAllowed(forwardedFor);
+    }
+
+    @Benchmark
+    public boolean compiledWithWildcard() {
+        return wildcardValidator.isAllowed(forwardedFor);
+    }
+
+    /**
+     * The validation done by the JSPs before {@link ForwardedHostValidator} was compiled.
+     */
+    private static boolean linearScan(String forwardedFor, List<String> allowedHosts) {
+        String forwardedHost = forwardedFor;
+        if (forwardedHost.contains(":")) {
+            forwardedHost = forwardedHost.substring(0, forwardedHost.indexOf(":"));
+        }
+        for (String allowedHost : allowedHosts) {
+            if (allowedHost != null && allowedHost.equalsIgnoreCase(forwardedHost)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+
+/**
+ * Compares reading a settings value with the former split based Util.readJsonObj against {@link JsonPath}, both on
+ * plain maps parsed by Gson and on the configuration views returned by Util.readJsonFile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathBenchmark {
+
+    @Param({"app.context", "app.customUrl.forwardedHeader", "app.customUrl.enabled"})
+    public String path;
+
+    @Param({"gson", "configView"})
+    public String source;
+
+    private Map<String, Object> settings;
+    private JsonPath compiledPath;
+
+    @Setup
+    public void setup() throws IOException {
+        if ("gson".equals(source)) {
+            settings = BenchmarkSettings.parse(BenchmarkSettings.DEVPORTAL);
+        } else {
+            settings = ConfigStore.getInstance().get(BenchmarkSettings.deploy(BenchmarkSettings.DEVPORTAL)).view();
+        }
+        compiledPath = JsonPath.compile(path);
+        if (splitPath(settings, path) != compiledPath.get(settings)) {
+            throw new IllegalStateException("Both implementations must read the same value of " + path);
+        }
+    }
+
+    @Benchmark
+    public Object splitPath() {
+        return splitPath(settings, path);
+    }
+
+    /**
+     * What Util.readJsonObj does now, a lookup of the compiled path followed by the walk.
+     */
+    @Benchmark
+    public Object compiledPathLookup() {
+        return JsonPath.compile(path).get(settings);
+    }
+
+    @Benchmark
+    public Object compiledPath() {
+        return compiledPath.get(settings);
+    }
+
+    @Benchmark
+    public boolean compiledPathTypedBoolean() {
+        return compiledPath.getBoolean(settings, false);
+    }
+
+    /**
+     * Util.readJsonObj as it was before {@link JsonPath}.
+     */
+    static Object splitPath(Map json, String path) {
+        String[] pathStrings = path.split("\\.");
+        Map nestedJson = json;
+
+        for (String pathString : Arrays.copyOfRange(pathStrings, 0, pathStrings.length - 1)) {
+            if (!nestedJson.containsKey(pathString)) {
+                return null;
+            }
+            nestedJson = (Map) nestedJson.get(pathString);
+        }
+
+        if (!nestedJson.containsKey(pathStrings[pathStrings.length - 1])) {
+            return null;
+        }
+        return nestedJson.get(pathStrings[pathStrings.length - 1]);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.apimgt.ui.common.metrics.ServiceMetrics;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+
+/**
+ * Measures the cost the metrics add to every service request and loopback call, on a single thread and with the
+ * request threads of a login storm recording at the same time. Run with -prof gc to check that recording does not
+ * allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private static final String[] TENANTS = {"carbon.super", "wso2.com", "abc.com", "xyz.com"};
+
+    private ServiceMetrics metrics;
+
+    @Setup
+    public void setup() {
+        metrics = ServiceMetrics.get(ServletStubs.context(Collections.emptyMap(), Collections.emptyMap()));
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        record();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordRequestContended() {
+        record();
+    }
+
+    @Benchmark
+    public void recordUpstream() {
+        metrics.recordUpstream(Upstream.TOKEN, ThreadLocalRandom.current().nextLong(50_000_000), false);
+    }
+
+    private void record() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        metrics.recordRequest("refresh", TENANTS[random.nextInt(TENANTS.length)], 200,
+                random.nextLong(50_000_000));
+    }
+}
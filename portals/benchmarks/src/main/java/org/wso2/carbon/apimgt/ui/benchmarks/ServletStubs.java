@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Minimal servlet context and request stubs backed by dynamic proxies, so that the request paths of the portals can
+ * be benchmarked without a servlet container. Only the methods used by those paths are implemented, any other method
+ * fails with an {@link UnsupportedOperationException}.
+ */
+final class ServletStubs {
+
+    private ServletStubs() {
+    }
+
+    /**
+     * @param initParameters context parameters of the web application
+     * @param realPaths      real paths of the web application resources, by resource path
+     * @return servlet context
+     */
+    static ServletContext context(Map<String, String> initParameters, Map<String, String> realPaths) {
+        Stub stub = new Stub();
+        stub.initParameters.putAll(initParameters);
+        stub.realPaths.putAll(realPaths);
+        return (ServletContext) Proxy.newProxyInstance(ServletStubs.class.getClassLoader(),
+                new Class<?>[]{ServletContext.class}, stub);
+    }
+
+    /**
+     * @param context    servlet context the request belongs to
+     * @param headers    headers of the request
+     * @param parameters parameters of the request
+     * @param cookies    cookies of the request
+     * @return request
+     */
+    static HttpServletRequest request(ServletContext context, Map<String, String> headers,
+                                      Map<String, String> parameters, Cookie... cookies) {
+        Stub stub = new Stub();
+        stub.context = context;
+        stub.headers.putAll(headers);
+        stub.parameters.putAll(parameters);
+        stub.cookies = cookies;
+        return (HttpServletRequest) Proxy.newProxyInstance(ServletStubs.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, stub);
+    }
+
+    /**
+     * Drops the attributes of the given request or context stub, so that it can be reused as a fresh one.
+     */
+    static void clearAttributes(Object stub) {
+        ((Stub) Proxy.getInvocationHandler(stub)).attributes.clear();
+    }
+
+    private static final class Stub implements InvocationHandler {
+
+        private final Map<String, Object> attributes = new HashMap<>();
+        private final Map<String, String> initParameters = new HashMap<>();
+        private final Map<String, String> realPaths = new HashMap<>();
+        private final Map<String, String> headers = new HashMap<>();
+        private final Map<String, String> parameters = new HashMap<>();
+        private ServletContext context;
+        private Cookie[] cookies;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getAttribute":
+                    return attributes.get((String) args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                case "removeAttribute":
+                    attributes.remove((String) args[0]);
+                    return null;
+                case "getAttributeNames":
+                    return Collections.enumeration(attributes.keySet());
+                case "getInitParameter":
+                    return initParameters.get((String) args[0]);
+                case "getRealPath":
+                    return realPaths.get((String) args[0]);
+                case "getContextPath":
+                    return "/benchmark";
+                case "getServletContext":
+                    return context;
+                case "getHeader":
+                    return headers.get((String) args[0]);
+                case "getParameter":
+                    return parameters.get((String) args[0]);
+                case "getCookies":
+                    return cookies;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "stub " + method.getDeclaringClass().getSimpleName();
+                default:
+                    throw new UnsupportedOperationException(method.getName() + " is not supported by the stub");
+            }
+        }
+    }
+}
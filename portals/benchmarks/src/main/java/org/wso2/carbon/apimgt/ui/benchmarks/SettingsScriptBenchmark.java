@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.script.CachedScript;
+import org.wso2.carbon.apimgt.ui.common.script.ScriptResponseCache;
+
+/**
+ * Measures generating the settings script served by services/settings/settings.jsp, rendering it on every request
+ * against serving it from the {@link ScriptResponseCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingsScriptBenchmark {
+
+    private static final String CONTEXT = "/devportal";
+    private static final String SERVER_URL = "https://localhost:9443";
+    private static final String CHECK_SESSION_ENDPOINT = SERVER_URL + "/oidc/checksession";
+
+    private Map<String, Object> settings;
+
+    @Setup
+    public void setup() throws IOException {
+        settings = ConfigStore.getInstance().get(BenchmarkSettings.deploy(BenchmarkSettings.DEVPORTAL)).view();
+        Map<String, Object> idp = new HashMap<>();
+        idp.put("origin", SERVER_URL);
+        idp.put("checkSessionEndpoint", CHECK_SESSION_ENDPOINT);
+        settings.put("idp", idp);
+    }
+
+    @Benchmark
+    public String render() {
+        return ScriptResponseCache.toScript("Settings", settings);
+    }
+
+    @Benchmark
+    public CachedScript cached() {
+        String fingerprint = ScriptResponseCache.fingerprint(settings, CONTEXT, SERVER_URL, CHECK_SESSION_ENDPOINT);
+        return ScriptResponseCache.getInstance().get("devportal|carbon.super|", fingerprint,
+                () -> ScriptResponseCache.toScript("Settings", settings));
+    }
+}
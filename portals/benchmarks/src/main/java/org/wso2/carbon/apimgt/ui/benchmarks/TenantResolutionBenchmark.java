@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import com.google.gson.Gson;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+
+/**
+ * Measures resolving the tenant specific values a service JSP needs, ex: the tenant based context, the domain
+ * mapping and whether a per tenant service provider is enabled. The tenant is resolved by
+ * {@link TenantContext#resolveTenantDomain}, which Util.getTenantDomain of the portals delegates to. The registry reads
+ * behind APIUtil need a running server, hence they are replaced by parsing a tenant configuration, so the former
+ * lookup per call is compared against the {@link TenantContext} of the request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenantResolutionBenchmark {
+
+    private static final String TENANT_CONFIG = "{\"EnablePerTenantServiceProviderCreation\": true,"
+            + " \"CustomUrl\": {\"devportal\": \"developer.wso2.test\", \"publisher\": \"publisher.wso2.test\"},"
+            + " \"DefaultRoles\": {\"PublisherRole\": {\"CreateOnTenantLoad\": true, \"RoleName\": \"Internal/publisher\"},"
+            + " \"CreatorRole\": {\"CreateOnTenantLoad\": true, \"RoleName\": \"Internal/creator\"}}}";
+
+    private static final TenantContext.Key<String> CONTEXT = new TenantContext.Key<>("context");
+    private static final TenantContext.Key<Map> DOMAIN_MAPPING = new TenantContext.Key<>("domainMapping");
+    private static final TenantContext.Key<Boolean> PER_TENANT_SERVICE_PROVIDER_ENABLED =
+            new TenantContext.Key<>("perTenantServiceProviderEnabled");
+
+    private static final Gson GSON = new Gson();
+
+    @Param({"carbon.super", "wso2.test"})
+    public String tenant;
+
+    private HttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        ServletContext context = ServletStubs.context(Collections.emptyMap(), Collections.emptyMap());
+        request = ServletStubs.request(context, Collections.singletonMap("X-WSO2-Tenant", tenant),
+                Collections.emptyMap());
+    }
+
+    /**
+     * Every lookup resolves the tenant and loads the value again, the way Util did before the tenant context.
+     */
+    @Benchmark
+    public void lookupPerCall(Blackhole blackhole) {
+        blackhole.consume(loadContext(TenantContext.resolveTenantDomain(request)));
+        blackhole.consume(loadDomainMapping(TenantContext.resolveTenantDomain(request)));
+        blackhole.consume(loadPerTenantServiceProviderEnabled(TenantContext.resolveTenantDomain(request)));
+        blackhole.consume(loadDomainMapping(TenantContext.resolveTenantDomain(request)));
+    }
+
+    /**
+     * A new request, hence the tenant context is looked up in the cache once and its values are reused.
+     */
+    @Benchmark
+    public void tenantContext(Blackhole blackhole) throws Exception {
+        ServletStubs.clearAttributes(request);
+        blackhole.consume(tenantContext().get(CONTEXT, TenantResolutionBenchmark::loadContext));
+        blackhole.consume(tenantContext().get(DOMAIN_MAPPING, TenantResolutionBenchmark::loadDomainMapping));
+        blackhole.consume(tenantContext().get(PER_TENANT_SERVICE_PROVIDER_ENABLED,
+                TenantResolutionBenchmark::loadPerTenantServiceProviderEnabled));
+        blackhole.consume(tenantContext().get(DOMAIN_MAPPING, TenantResolutionBenchmark::loadDomainMapping));
+    }
+
+    private TenantContext tenantContext() {
+        return TenantContext.get(request, TenantContext::resolveTenantDomain);
+    }
+
+    private static String loadContext(String tenantDomain) {
+        return "carbon.super".equals(tenantDomain) ? "/devportal" : "/devportal/t/" + tenantDomain;
+    }
+
+    private static Map loadDomainMapping(String tenantDomain) {
+        Map customUrl = (Map) GSON.fromJson(TENANT_CONFIG, Map.class).get("CustomUrl");
+        return "carbon.super".equals(tenantDomain) ? null : customUrl;
+    }
+
+    private static Boolean loadPerTenantServiceProviderEnabled(String tenantDomain) {
+        return (Boolean) GSON.fromJson(TENANT_CONFIG, Map.class).get("EnablePerTenantServiceProviderCreation");
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.benchmarks;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.Cookie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.apimgt.ui.common.auth.TokenCookies;
+
+/**
+ * Measures splitting the tokens into their cookie parts, as the login callback and the token refresh do, and
+ * reassembling them from the cookies of a request, as the introspection, the token refresh and the logout do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenCookiesBenchmark {
+
+    /**
+     * Length of the tokens, an opaque token or a JWT.
+     */
+    @Param({"36", "1200"})
+    public int tokenLength;
+
+    private String token;
+    private Cookie[] cookies;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        token = token(random, tokenLength);
+        cookies = new Cookie[]{
+                new Cookie("JSESSIONID", token(random, 32)),
+                new Cookie("CLIENT_ID", token(random, 28)),
+                new Cookie("devportal_session_state", token(random, 64)),
+                new Cookie(TokenCookies.ID_TOKEN_P1, TokenCookies.firstPart(token)),
+                new Cookie(TokenCookies.ID_TOKEN_P2, TokenCookies.secondPart(token)),
+                new Cookie(TokenCookies.REFRESH_TOKEN_P1, TokenCookies.firstPart(token)),
+                new Cookie(TokenCookies.REFRESH_TOKEN_P2, TokenCookies.secondPart(token)),
+                new Cookie(TokenCookies.ACCESS_TOKEN_P1, TokenCookies.firstPart(token)),
+                new Cookie(TokenCookies.ACCESS_TOKEN_P2, TokenCookies.secondPart(token))
+        };
+        if (!token.equals(TokenCookies.join(cookies, TokenCookies.ACCESS_TOKEN_P1, TokenCookies.ACCESS_TOKEN_P2))) {
+            throw new IllegalStateException("The access token must be reassembled from its cookies");
+        }
+    }
+
+    @Benchmark
+    public void split(Blackhole blackhole) {
+        blackhole.consume(TokenCookies.firstPart(token));
+        blackhole.consume(TokenCookies.secondPart(token));
+    }
+
+    @Benchmark
+    public String joinAccessToken() {
+        return TokenCookies.join(cookies, TokenCookies.ACCESS_TOKEN_P1, TokenCookies.ACCESS_TOKEN_P2);
+    }
+
+    @Benchmark
+    public String refreshTokenPart() {
+        return TokenCookies.value(cookies, TokenCookies.REFRESH_TOKEN_P2);
+    }
+
+    private static String token(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes).substring(0, length);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+/*
+ * Writes the .br and .gz variants of the built bundles next to them, they are served by the StaticAssetFilter of
+ * the portals to the clients that accept them. Only the node built-in zlib is used, so the build does not need any
+ * further dependency.
+ *
+ * Usage: node precompress.js <directory>...
+ */
+const fs = require('fs');
+const path = require('path');
+const util = require('util');
+const zlib = require('zlib');
+
+const brotli = util.promisify(zlib.brotliCompress);
+const gzip = util.promisify(zlib.gzip);
+
+const COMPRESSIBLE = /\.(js|css|html|json|map|svg|txt|xml|ttf|eot|otf|ico)$/;
+// smaller files do not gain enough to make up for the extra file
+const MIN_SIZE = 1024;
+// a variant is only kept if it is at most this fraction of the original
+const MAX_RATIO = 0.9;
+// the compressions run on the libuv thread pool, this keeps all of its threads busy
+const CONCURRENCY = 4;
+
+function listFiles(dir) {
+    return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+        const file = path.join(dir, entry.name);
+        if (entry.isDirectory()) {
+            return listFiles(file);
+        }
+        return entry.isFile() && COMPRESSIBLE.test(entry.name) ? [file] : [];
+    });
+}
+
+async function writeVariant(file, content, extension, compress) {
+    const compressed = await compress(content);
+    if (compressed.length > content.length * MAX_RATIO) {
+        return 0;
+    }
+    await fs.promises.writeFile(file + extension, compressed);
+    return content.length - compressed.length;
+}
+
+async function precompress(file) {
+    const content = await fs.promises.readFile(file);
+    if (content.length < MIN_SIZE) {
+        return 0;
+    }
+    const saved = await Promise.all([
+        writeVariant(file, content, '.br', (data) => brotli(data, {
+            params: {
+                [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+                [zlib.constants.BROTLI_PARAM_SIZE_HINT]: data.length,
+            },
+        })),
+        writeVariant(file, content, '.gz', (data) => gzip(data, { level: zlib.constants.Z_BEST_COMPRESSION })),
+    ]);
+    return saved[0];
+}
+
+async function main(dirs) {
+    const files = dirs.filter((dir) => fs.existsSync(dir)).flatMap(listFiles);
+    let next = 0;
+    let saved = 0;
+    const worker = async () => {
+        while (next < files.length) {
+            const file = files[next];
+            next += 1;
+            saved += await precompress(file); // eslint-disable-line no-await-in-loop
+        }
+    };
+    await Promise.all(Array.from({ length: CONCURRENCY }, worker));
+    console.log(`Checked ${files.length} files for precompression, brotli saves ${Math.round(saved / 1024)} KiB`);
+}
+
+main(process.argv.slice(2)).catch((e) => {
+    console.error(e);
+    process.exit(1);
+});
@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.servlet.ServletContext;
+
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Short lived cache of successful token introspection results, so that the same access token introspected again
+ * from another tab (or a reload) is not sent to the key manager.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the access token, the raw token is never stored. An entry lives for the
+ * configured time to live, capped by the expiry time of the token, and is removed when the token is refreshed or the
+ * user logs out. The cache holds a bounded number of entries and evicts the least recently used one when full.
+ * The following context parameters can be used to tune it,
+ * <ul>
+ *     <li>introspectionCache.ttl - time to live of an entry in seconds, 0 disables the cache</li>
+ *     <li>introspectionCache.maxEntries - maximum number of entries</li>
+ * </ul>
+ */
+public final class IntrospectionCache {
+
+    public static final String CONTEXT_ATTRIBUTE = IntrospectionCache.class.getName();
+
+    static final String TTL_PARAM = "introspectionCache.ttl";
+    static final String MAX_ENTRIES_PARAM = "introspectionCache.maxEntries";
+
+    private static final long DEFAULT_TTL_SECONDS = 30;
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final Gson GSON = new Gson();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, CachedIntrospection> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    IntrospectionCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, CachedIntrospection>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedIntrospection> eldest) {
+                if (size() > IntrospectionCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the introspection cache of the given web application, creating it on first use.
+     * @param context servlet context of the web application
+     * @return introspection cache
+     */
+    public static IntrospectionCache get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE, IntrospectionCache::create);
+    }
+
+    private static IntrospectionCache create(ServletContext context) {
+        long ttl = ServletContexts.getLong(context, TTL_PARAM, DEFAULT_TTL_SECONDS);
+        int maxEntries = ServletContexts.getInt(context, MAX_ENTRIES_PARAM, DEFAULT_MAX_ENTRIES);
+        return new IntrospectionCache(TimeUnit.SECONDS.toMillis(ttl), maxEntries);
+    }
+
+    /**
+     * Returns the cached introspection result of the given token.
+     * @param token access token
+     * @return cached result, or null if the token is not cached or the entry has expired
+     */
+    public IntrospectionResult get(String token) {
+        if (ttlMillis <= 0 || token == null || token.isEmpty()) {
+            return null;
+        }
+        String key = hash(token);
+        CachedIntrospection entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    /**
+     * Caches the given introspection result if it is successful and the token is active.
+     * @param token  access token
+     * @param result introspection result of the token
+     */
+    public void put(String token, IntrospectionResult result) {
+        if (ttlMillis <= 0 || token == null || token.isEmpty() || !result.isSuccessful()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        try {
+            Map<?, ?> introspection = GSON.fromJson(result.getBody(), Map.class);
+            if (introspection == null || !Boolean.TRUE.equals(introspection.get("active"))) {
+                return;
+            }
+            Object exp = introspection.get("exp");
+            if (exp instanceof Number) {
+                expiresAt = Math.min(expiresAt, TimeUnit.SECONDS.toMillis(((Number) exp).longValue()));
+            }
+        } catch (JsonSyntaxException e) {
+            return;
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        String key = hash(token);
+        synchronized (entries) {
+            entries.put(key, new CachedIntrospection(result, expiresAt));
+        }
+    }
+
+    /**
+     * Removes the cached introspection result of the given token, if any.
+     * @param token access token
+     */
+    public void invalidate(String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        String key = hash(token);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            char[] chars = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    private static final class CachedIntrospection {
+
+        private final IntrospectionResult result;
+        private final long expiresAt;
+
+        private CachedIntrospection(IntrospectionResult result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+/**
+ * Outcome of a token introspection done by {@link TokenIntrospector}.
+ */
+public final class IntrospectionResult {
+
+    /**
+     * Status used when the introspection endpoint did not respond before the deadline.
+     */
+    public static final int TIMED_OUT = 504;
+
+    /**
+     * Status used when the introspection endpoint could not be called.
+     */
+    public static final int UPSTREAM_ERROR = 502;
+
+    /**
+     * Status used when the introspection call was shed by the admission control of the loopback client.
+     */
+    public static final int REJECTED = 503;
+
+    private final int statusCode;
+    private final String body;
+    private final String userInfo;
+    private final long retryAfterSeconds;
+
+    IntrospectionResult(int statusCode, String body, String userInfo) {
+        this(statusCode, body, userInfo, 0);
+    }
+
+    private IntrospectionResult(int statusCode, String body, String userInfo, long retryAfterSeconds) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.userInfo = userInfo;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    static IntrospectionResult failed(int statusCode, String message) {
+        return new IntrospectionResult(statusCode, message, null);
+    }
+
+    static IntrospectionResult rejected(String message, long retryAfterSeconds) {
+        return new IntrospectionResult(REJECTED, message, null, retryAfterSeconds);
+    }
+
+    /**
+     * @return HTTP status of the introspection response, or {@link #TIMED_OUT} / {@link #UPSTREAM_ERROR} /
+     * {@link #REJECTED}
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return seconds after which a {@link #REJECTED} introspection may be retried
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * @return body of the introspection response, or the error message if the call failed
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * @return body of the user info response, or null if the user info call failed
+     */
+    public String getUserInfo() {
+        return userInfo;
+    }
+
+    public boolean isSuccessful() {
+        return statusCode == 200;
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.servlet.ServletContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.dao.APIMgtDAOException;
+import org.wso2.carbon.apimgt.impl.dao.SystemApplicationDAO;
+import org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO;
+import org.wso2.carbon.apimgt.ui.common.concurrent.SingleFlight;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+import org.wso2.carbon.apimgt.ui.common.metrics.ServiceMetrics;
+
+/**
+ * Caches the client credentials of the portal system application and the PKCE and bypass client credentials flags
+ * of its client, which are otherwise read from the database on every login, login callback and token refresh.
+ * <p>
+ * Credentials are cached per application name and tenant domain. When the application is not found under its current
+ * name, the legacy names are tried and the outcome of the whole lookup is cached, including the case where no
+ * application exists at all. Such a negative result is kept only for a short time, since it is followed by the
+ * registration of the application. Registering the application through {@link #addApplicationKey} drops the cached
+ * result of the tenant. Each of the cached lookups keeps at most maxEntries results, the least recently used one is
+ * dropped first, so that the client secrets of tenants no longer logging in do not stay on the heap until they expire.
+ * <p>
+ * First time registration is done through {@link #getOrRegister}, which lets concurrent logins of the same tenant
+ * share a single registration while registrations of other tenants go ahead in parallel. This replaces the server
+ * wide lock of SystemApplicationDAO the login JSPs used to hold: each portal registers its own application (see
+ * Portal#getClientAppName), so the registrations of two portals never compete for the same application, and the
+ * registrations of one portal all go through the cache of its web application. Registrations on other nodes of a
+ * cluster were never covered by that lock, the registration reads the database again before registering. The
+ * following context parameters can be used to tune it,
+ * <ul>
+ *     <li>systemApplicationCache.ttl - time to live of a cached application in seconds, 0 disables the cache</li>
+ *     <li>systemApplicationCache.negativeTtl - time to live of a not found result in seconds</li>
+ *     <li>systemApplicationCache.maxEntries - maximum number of cached results of each lookup</li>
+ *     <li>systemApplicationCache.registrationTimeout - maximum time in seconds a login waits for the registration
+ *     started by another login of the same tenant</li>
+ * </ul>
+ */
+public final class SystemApplicationCache {
+
+    public static final String CONTEXT_ATTRIBUTE = SystemApplicationCache.class.getName();
+
+    static final String TTL_PARAM = "systemApplicationCache.ttl";
+    static final String NEGATIVE_TTL_PARAM = "systemApplicationCache.negativeTtl";
+    static final String REGISTRATION_TIMEOUT_PARAM = "systemApplicationCache.registrationTimeout";
+    static final String MAX_ENTRIES_PARAM = "systemApplicationCache.maxEntries";
+
+    private static final Log log = LogFactory.getLog(SystemApplicationCache.class);
+    private static final long DEFAULT_TTL_SECONDS = 3600;
+    private static final long DEFAULT_NEGATIVE_TTL_SECONDS = 10;
+    private static final long DEFAULT_REGISTRATION_TIMEOUT_SECONDS = 30;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final SystemApplicationDAO systemApplicationDAO;
+    private final ServiceMetrics metrics;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final long registrationTimeoutMillis;
+    private final BoundedCache<SystemApplicationDTO> credentials;
+    private final BoundedCache<Boolean> pkceEnabled;
+    private final BoundedCache<Boolean> bypassClientCredentials;
+    private final SingleFlight<String, SystemApplicationDTO> registrations = new SingleFlight<>();
+
+    SystemApplicationCache(SystemApplicationDAO systemApplicationDAO, ServiceMetrics metrics, long ttlMillis,
+                           long negativeTtlMillis, long registrationTimeoutMillis, int maxEntries) {
+        this.systemApplicationDAO = systemApplicationDAO;
+        this.metrics = metrics;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.registrationTimeoutMillis = registrationTimeoutMillis;
+        this.credentials = new BoundedCache<>(maxEntries);
+        this.pkceEnabled = new BoundedCache<>(maxEntries);
+        this.bypassClientCredentials = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * Returns the system application cache of the given web application, creating it on first use.
+     * @param context servlet context of the web application
+     * @return system application cache
+     */
+    public static SystemApplicationCache get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE,
+                servletContext -> create(servletContext, new SystemApplicationDAO()));
+    }
+
+    /**
+     * Creates a cache configured from the context parameters of the given web application, in front of the given
+     * DAO. The load test sets such a cache in front of an in-memory DAO as the cache of the web application.
+     * @param context              servlet context of the web application
+     * @param systemApplicationDAO DAO the system applications are read from and persisted with
+     * @return new system application cache
+     */
+    public static SystemApplicationCache create(ServletContext context, SystemApplicationDAO systemApplicationDAO) {
+        long ttl = ServletContexts.getLong(context, TTL_PARAM, DEFAULT_TTL_SECONDS);
+        long negativeTtl = ServletContexts.getLong(context, NEGATIVE_TTL_PARAM, DEFAULT_NEGATIVE_TTL_SECONDS);
+        long registrationTimeout = ServletContexts.getLong(context, REGISTRATION_TIMEOUT_PARAM,
+                DEFAULT_REGISTRATION_TIMEOUT_SECONDS);
+        int maxEntries = ServletContexts.getInt(context, MAX_ENTRIES_PARAM, DEFAULT_MAX_ENTRIES);
+        return new SystemApplicationCache(systemApplicationDAO, ServiceMetrics.get(context),
+                TimeUnit.SECONDS.toMillis(ttl), TimeUnit.SECONDS.toMillis(negativeTtl),
+                TimeUnit.SECONDS.toMillis(registrationTimeout), maxEntries);
+    }
+
+    /**
+     * Returns the client credentials of the given system application.
+     * @param appName        current name of the system application
+     * @param tenantDomain   tenant domain of the system application
+     * @param legacyAppNames names the application was registered with in earlier versions, tried in order when the
+     *                       application is not found under its current name
+     * @return client credentials, or null if the application is not registered
+     * @throws APIMgtDAOException if the credentials could not be read from the database
+     */
+    public SystemApplicationDTO getClientCredentials(String appName, String tenantDomain, String... legacyAppNames)
+            throws APIMgtDAOException {
+        String key = key(appName, tenantDomain);
+        CachedValue<SystemApplicationDTO> cached = credentials.get(key);
+        if (cached != null) {
+            return cached.value;
+        }
+        SystemApplicationDTO systemApplicationDTO;
+        long start = System.nanoTime();
+        try {
+            systemApplicationDTO = systemApplicationDAO.getClientCredentialsForApplication(appName, tenantDomain);
+            for (int i = 0; systemApplicationDTO == null && i < legacyAppNames.length; i++) {
+                systemApplicationDTO = systemApplicationDAO.getClientCredentialsForApplication(legacyAppNames[i],
+                        tenantDomain);
+            }
+        } finally {
+            metrics.recordQuery("getClientCredentials", System.nanoTime() - start);
+        }
+        long ttl = systemApplicationDTO != null ? ttlMillis : Math.min(ttlMillis, negativeTtlMillis);
+        if (ttl > 0) {
+            credentials.put(key, new CachedValue<>(systemApplicationDTO, System.currentTimeMillis() + ttl));
+        }
+        return systemApplicationDTO;
+    }
+
+    /**
+     * Returns the client credentials of the given system application, registering the application if it is not
+     * registered yet. Only one registration runs at a time for an application of a tenant, concurrent callers wait
+     * for its outcome instead of registering the application again.
+     * @param appName        current name of the system application
+     * @param tenantDomain   tenant domain of the system application
+     * @param registration   registers the application with the key manager, called only if the application is not
+     *                       registered under any of its names
+     * @param legacyAppNames names the application was registered with in earlier versions
+     * @return client credentials of the system application
+     * @throws APIManagementException if the registration failed or did not complete within the registration timeout
+     */
+    public SystemApplicationDTO getOrRegister(String appName, String tenantDomain, Registration registration,
+                                              String... legacyAppNames) throws APIManagementException {
+        SystemApplicationDTO systemApplicationDTO = getClientCredentials(appName, tenantDomain, legacyAppNames);
+        if (systemApplicationDTO != null) {
+            return systemApplicationDTO;
+        }
+        try {
+            return registrations.execute(key(appName, tenantDomain),
+                    () -> register(appName, tenantDomain, registration, legacyAppNames), registrationTimeoutMillis);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APIManagementException) {
+                throw (APIManagementException) e.getCause();
+            }
+            throw new APIManagementException("Error while registering " + appName + " in tenant " + tenantDomain,
+                    e.getCause());
+        } catch (TimeoutException e) {
+            throw new APIManagementException("Registration of " + appName + " in tenant " + tenantDomain
+                    + " did not complete within " + registrationTimeoutMillis + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIManagementException("Interrupted while waiting for the registration of " + appName
+                    + " in tenant " + tenantDomain, e);
+        }
+    }
+
+    private SystemApplicationDTO register(String appName, String tenantDomain, Registration registration,
+                                          String... legacyAppNames) throws Exception {
+        // the application may have been registered by an earlier registration or by another node
+        invalidate(appName, tenantDomain);
+        SystemApplicationDTO systemApplicationDTO = getClientCredentials(appName, tenantDomain, legacyAppNames);
+        if (systemApplicationDTO != null) {
+            return systemApplicationDTO;
+        }
+        systemApplicationDTO = registration.register();
+        if (systemApplicationDTO == null || systemApplicationDTO.getConsumerKey() == null) {
+            throw new APIManagementException("Client credentials were not returned for the registration of "
+                    + appName + " in tenant " + tenantDomain);
+        }
+        systemApplicationDTO.setName(appName);
+        systemApplicationDTO.setTenantDomain(tenantDomain);
+        if (log.isDebugEnabled()) {
+            log.debug("Registered " + appName + " in tenant " + tenantDomain + " with client ID "
+                    + systemApplicationDTO.getConsumerKey());
+        }
+        if (addApplicationKey(appName, systemApplicationDTO.getConsumerKey(),
+                systemApplicationDTO.getConsumerSecret(), tenantDomain)) {
+            if (ttlMillis > 0) {
+                credentials.put(key(appName, tenantDomain),
+                        new CachedValue<>(systemApplicationDTO, System.currentTimeMillis() + ttlMillis));
+            }
+        } else {
+            log.error("Error while persisting application information in system application DB table!!");
+            log.error("Client ID = " + systemApplicationDTO.getConsumerKey());
+        }
+        return systemApplicationDTO;
+    }
+
+    /**
+     * Returns whether PKCE is enabled for the given client.
+     * @param clientId consumer key of the system application
+     * @return true if PKCE is enabled
+     * @throws APIManagementException if the flag could not be read from the database
+     */
+    public boolean isPKCEEnabled(String clientId) throws APIManagementException {
+        CachedValue<Boolean> cached = pkceEnabled.get(clientId);
+        if (cached != null) {
+            return cached.value;
+        }
+        boolean enabled;
+        long start = System.nanoTime();
+        try {
+            enabled = systemApplicationDAO.isPKCEEnabled(clientId);
+        } finally {
+            metrics.recordQuery("isPKCEEnabled", System.nanoTime() - start);
+        }
+        if (ttlMillis > 0) {
+            pkceEnabled.put(clientId, new CachedValue<>(enabled, System.currentTimeMillis() + ttlMillis));
+        }
+        return enabled;
+    }
+
+    /**
+     * Returns whether the client is allowed to get tokens without its client secret.
+     * @param clientId consumer key of the system application
+     * @return true if client credentials can be bypassed
+     * @throws APIManagementException if the flag could not be read from the database
+     */
+    public boolean isBypassClientCredentials(String clientId) throws APIManagementException {
+        CachedValue<Boolean> cached = bypassClientCredentials.get(clientId);
+        if (cached != null) {
+            return cached.value;
+        }
+        boolean bypass;
+        long start = System.nanoTime();
+        try {
+            bypass = systemApplicationDAO.isBypassClientCredentials(clientId);
+        } finally {
+            metrics.recordQuery("isBypassClientCredentials", System.nanoTime() - start);
+        }
+        if (ttlMillis > 0) {
+            bypassClientCredentials.put(clientId, new CachedValue<>(bypass, System.currentTimeMillis() + ttlMillis));
+        }
+        return bypass;
+    }
+
+    /**
+     * Persists the client credentials of a newly registered system application and drops the cached result of the
+     * tenant, so the next lookup reads the new credentials.
+     * @param appName      name of the system application
+     * @param clientId     consumer key of the system application
+     * @param clientSecret consumer secret of the system application
+     * @param tenantDomain tenant domain of the system application
+     * @return true if the credentials were persisted
+     * @throws APIMgtDAOException if the credentials could not be persisted
+     */
+    public boolean addApplicationKey(String appName, String clientId, String clientSecret, String tenantDomain)
+            throws APIMgtDAOException {
+        long start = System.nanoTime();
+        try {
+            return systemApplicationDAO.addApplicationKey(appName, clientId, clientSecret, tenantDomain);
+        } finally {
+            metrics.recordQuery("addApplicationKey", System.nanoTime() - start);
+            invalidate(appName, tenantDomain);
+            pkceEnabled.remove(clientId);
+            bypassClientCredentials.remove(clientId);
+        }
+    }
+
+    /**
+     * Drops the cached client credentials of the given system application.
+     * @param appName      current name of the system application
+     * @param tenantDomain tenant domain of the system application
+     */
+    public void invalidate(String appName, String tenantDomain) {
+        if (credentials.remove(key(appName, tenantDomain)) != null && log.isDebugEnabled()) {
+            log.debug("Removed cached client credentials of " + appName + " in tenant " + tenantDomain);
+        }
+    }
+
+    private static String key(String appName, String tenantDomain) {
+        return appName + '@' + tenantDomain;
+    }
+
+    /**
+     * Registers the system application with the key manager.
+     */
+    @FunctionalInterface
+    public interface Registration {
+
+        /**
+         * @return client credentials of the registered application
+         * @throws Exception if the application could not be registered
+         */
+        SystemApplicationDTO register() throws Exception;
+    }
+
+    private static final class CachedValue<T> {
+
+        private final T value;
+        private final long expiresAt;
+
+        private CachedValue(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Results of a lookup, bounded the same way as the introspection cache: the least recently used result is dropped
+     * once maxEntries results are kept, expired results are dropped when they are read.
+     */
+    private static final class BoundedCache<T> {
+
+        private final Map<String, CachedValue<T>> values;
+
+        private BoundedCache(int maxEntries) {
+            this.values = new LinkedHashMap<String, CachedValue<T>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedValue<T>> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        /**
+         * @return cached result, or null if there is none or it expired
+         */
+        private CachedValue<T> get(String key) {
+            synchronized (values) {
+                CachedValue<T> cached = values.get(key);
+                if (cached != null && cached.expiresAt <= System.currentTimeMillis()) {
+                    values.remove(key);
+                    return null;
+                }
+                return cached;
+            }
+        }
+
+        private void put(String key, CachedValue<T> value) {
+            synchronized (values) {
+                values.put(key, value);
+            }
+        }
+
+        private CachedValue<T> remove(String key) {
+            synchronized (values) {
+                return values.remove(key);
+            }
+        }
+    }
+}
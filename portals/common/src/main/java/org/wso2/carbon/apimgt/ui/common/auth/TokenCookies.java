@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.Cookie;
+
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Names of the cookies the tokens of the portals are kept in, and the helpers to split a token into the two cookie
+ * parts and to reassemble it. A token is split into two halves so that only the first half is readable by the
+ * browser application, the second half is kept in an HTTP only cookie.
+ * <p>
+ * The refresh token cookies should live as long as the refresh tokens of the key manager, hence their max-age is
+ * taken from the following context parameter,
+ * <ul>
+ *     <li>tokenCookies.refreshTokenMaxAge - max-age of the refresh token cookies in seconds, the refresh token
+ *     validity period of the key manager</li>
+ * </ul>
+ */
+public final class TokenCookies {
+
+    public static final String ACCESS_TOKEN_P1 = "WSO2_AM_TOKEN_1_Default";
+    public static final String ACCESS_TOKEN_P2 = "AM_ACC_TOKEN_DEFAULT_P2";
+    public static final String REFRESH_TOKEN_P1 = "WSO2_AM_REFRESH_TOKEN_1_Default";
+    public static final String REFRESH_TOKEN_P2 = "AM_REF_TOKEN_DEFAULT_P2";
+    public static final String ID_TOKEN_P1 = "AM_ID_TOKEN_DEFAULT_P1";
+    public static final String ID_TOKEN_P2 = "AM_ID_TOKEN_DEFAULT_P2";
+
+    static final String REFRESH_TOKEN_MAX_AGE_PARAM = "tokenCookies.refreshTokenMaxAge";
+
+    // the default refresh token validity period of the key manager, a day
+    private static final int DEFAULT_REFRESH_TOKEN_MAX_AGE = 86400;
+
+    private TokenCookies() {
+    }
+
+    /**
+     * @param context servlet context of the web application
+     * @return max-age of the refresh token cookies in seconds
+     */
+    public static int getRefreshTokenMaxAge(ServletContext context) {
+        return ServletContexts.getInt(context, REFRESH_TOKEN_MAX_AGE_PARAM, DEFAULT_REFRESH_TOKEN_MAX_AGE);
+    }
+
+    /**
+     * @param token token to be split
+     * @return first half of the token
+     */
+    public static String firstPart(String token) {
+        return token.substring(0, token.length() / 2);
+    }
+
+    /**
+     * @param token token to be split
+     * @return second half of the token, one character longer than the first half if the length is odd
+     */
+    public static String secondPart(String token) {
+        return token.substring(token.length() / 2);
+    }
+
+    /**
+     * Returns the value of the given cookie.
+     * @param cookies cookies of the request, may be null
+     * @param name    name of the cookie
+     * @return value of the cookie, or an empty string if the cookie is not sent
+     */
+    public static String value(Cookie[] cookies, String name) {
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (name.equals(cookie.getName())) {
+                    return cookie.getValue() != null ? cookie.getValue() : "";
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Reassembles a token from its two cookie parts.
+     * @param cookies   cookies of the request, may be null
+     * @param part1Name name of the cookie holding the first part
+     * @param part2Name name of the cookie holding the second part
+     * @return token, or an empty string if none of the parts is sent
+     */
+    public static String join(Cookie[] cookies, String part1Name, String part2Name) {
+        String part1 = "";
+        String part2 = "";
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                String name = cookie.getName();
+                if (part1Name.equals(name) && cookie.getValue() != null) {
+                    part1 = cookie.getValue();
+                } else if (part2Name.equals(name) && cookie.getValue() != null) {
+                    part2 = cookie.getValue();
+                }
+                if (!part1.isEmpty() && !part2.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return part1 + part2;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.http.LoopbackHttpClient;
+import org.wso2.carbon.apimgt.ui.common.http.UpstreamRejectedException;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+
+/**
+ * Calls the user info and the token introspection endpoints of the key manager for the introspect service.
+ * <p>
+ * The two calls do not depend on each other, hence they are sent at the same time and awaited against a single
+ * deadline (the request timeout of the loopback client), so the latency of the service is that of the slower call
+ * instead of the sum of both.
+ */
+public final class TokenIntrospector {
+
+    private static final Log log = LogFactory.getLog(TokenIntrospector.class);
+
+    private TokenIntrospector() {
+    }
+
+    /**
+     * Introspects the given token.
+     * @param loopbackClient        loopback client of the web application
+     * @param userInfoEndpoint      user info endpoint URL
+     * @param userInfoAuthorization value of the Authorization header of the user info request
+     * @param introspectEndpoint    introspection endpoint URL
+     * @param adminAuthorization    value of the Authorization header of the introspection request
+     * @param token                 access token to be introspected
+     * @return result of the introspection. A failed or shed user info call does not fail the introspection.
+     */
+    public static IntrospectionResult introspect(LoopbackHttpClient loopbackClient, String userInfoEndpoint,
+                                                 String userInfoAuthorization, String introspectEndpoint,
+                                                 String adminAuthorization, String token) {
+        HttpRequest userInfoRequest = loopbackClient.newRequest(userInfoEndpoint)
+                .header("Authorization", userInfoAuthorization)
+                .build();
+        HttpRequest introspectRequest = loopbackClient.newRequest(introspectEndpoint)
+                .POST(HttpRequest.BodyPublishers.ofString("token=" + token))
+                .header("Authorization", adminAuthorization)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .build();
+
+        long deadline = System.nanoTime() + loopbackClient.getRequestTimeout().toNanos();
+        CompletableFuture<HttpResponse<String>> userInfoFuture = loopbackClient.sendAsync(Upstream.USER_INFO,
+                userInfoRequest, HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> introspectFuture = loopbackClient.sendAsync(Upstream.INTROSPECT,
+                introspectRequest, HttpResponse.BodyHandlers.ofString());
+
+        HttpResponse<String> introspectResponse;
+        try {
+            introspectResponse = await(introspectFuture, deadline);
+        } catch (TimeoutException e) {
+            userInfoFuture.cancel(true);
+            introspectFuture.cancel(true);
+            return IntrospectionResult.failed(IntrospectionResult.TIMED_OUT, "Token introspection timed out");
+        } catch (ExecutionException e) {
+            userInfoFuture.cancel(true);
+            if (e.getCause() instanceof UpstreamRejectedException) {
+                UpstreamRejectedException rejected = (UpstreamRejectedException) e.getCause();
+                return IntrospectionResult.rejected(rejected.getMessage(), rejected.getRetryAfterSeconds());
+            }
+            log.error("Error while calling the token introspection endpoint", e.getCause());
+            return IntrospectionResult.failed(IntrospectionResult.UPSTREAM_ERROR,
+                    "Error while calling the token introspection endpoint");
+        }
+
+        String userInfo = null;
+        try {
+            HttpResponse<String> userInfoResponse = await(userInfoFuture, deadline);
+            if (userInfoResponse.statusCode() == 200) {
+                userInfo = userInfoResponse.body();
+            } else if (log.isDebugEnabled()) {
+                log.debug("User info endpoint responded with status " + userInfoResponse.statusCode());
+            }
+        } catch (TimeoutException e) {
+            userInfoFuture.cancel(true);
+            log.warn("User info call did not complete within the introspection deadline");
+        } catch (ExecutionException e) {
+            log.warn("Error while calling the user info endpoint", e.getCause());
+        }
+        return new IntrospectionResult(introspectResponse.statusCode(), introspectResponse.body(), userInfo);
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long deadline)
+            throws TimeoutException, ExecutionException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ExecutionException("Interrupted while waiting for the response", e);
+        }
+    }
+}
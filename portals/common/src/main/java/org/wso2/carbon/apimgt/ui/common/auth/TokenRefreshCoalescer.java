@@ -0,0 +1,204 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.servlet.ServletContext;
+
+import org.wso2.carbon.apimgt.ui.common.concurrent.SingleFlight;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Coalesces the token refreshes of the same refresh token. When several tabs of a portal refresh at about the same
+ * time they all send the same refresh token, and with refresh token rotation only the first exchange would succeed.
+ * Instead, the tabs that arrive while an exchange is running wait for it and get its outcome, and the tabs that
+ * arrive shortly after it completed get its response replayed from a grace window. Each tab still sets the token
+ * cookies of its own response from the shared token response.
+ * <p>
+ * Exchanges are keyed by the SHA-256 hash of the tenant domain and the reassembled refresh token, the raw token is
+ * never used as a key. Only successful token responses are replayed. The following context parameters can be used
+ * to tune it,
+ * <ul>
+ *     <li>tokenRefresh.graceWindow - time in seconds a token response is replayed for, 0 disables replaying</li>
+ *     <li>tokenRefresh.maxEntries - maximum number of token responses kept for replaying</li>
+ * </ul>
+ */
+public final class TokenRefreshCoalescer {
+
+    public static final String CONTEXT_ATTRIBUTE = TokenRefreshCoalescer.class.getName();
+
+    static final String GRACE_WINDOW_PARAM = "tokenRefresh.graceWindow";
+    static final String MAX_ENTRIES_PARAM = "tokenRefresh.maxEntries";
+
+    private static final long DEFAULT_GRACE_WINDOW_SECONDS = 10;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final long graceWindowMillis;
+    private final int maxEntries;
+    private final SingleFlight<String, Result> exchanges = new SingleFlight<>();
+    private final Map<String, RecentResult> recent;
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    TokenRefreshCoalescer(long graceWindowMillis, int maxEntries) {
+        this.graceWindowMillis = graceWindowMillis;
+        this.maxEntries = maxEntries;
+        this.recent = new LinkedHashMap<String, RecentResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecentResult> eldest) {
+                return size() > TokenRefreshCoalescer.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the token refresh coalescer of the given web application, creating it on first use.
+     * @param context servlet context of the web application
+     * @return token refresh coalescer
+     */
+    public static TokenRefreshCoalescer get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE, TokenRefreshCoalescer::create);
+    }
+
+    private static TokenRefreshCoalescer create(ServletContext context) {
+        long graceWindow = ServletContexts.getLong(context, GRACE_WINDOW_PARAM, DEFAULT_GRACE_WINDOW_SECONDS);
+        int maxEntries = ServletContexts.getInt(context, MAX_ENTRIES_PARAM, DEFAULT_MAX_ENTRIES);
+        return new TokenRefreshCoalescer(TimeUnit.SECONDS.toMillis(graceWindow), maxEntries);
+    }
+
+    /**
+     * Refreshes the tokens of the given refresh token, or shares the outcome of the exchange of the same refresh
+     * token that is running or has just completed.
+     * @param tenantDomain  tenant domain the refresh token belongs to
+     * @param refreshToken  reassembled refresh token
+     * @param exchange      exchange of the refresh token at the token endpoint
+     * @param timeoutMillis maximum time to wait for an exchange run by another request
+     * @return outcome of the exchange
+     * @throws ExecutionException   if the exchange failed, the cause is the exception thrown by the exchange
+     * @throws TimeoutException     if the exchange run by another request did not complete in time
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public Result refresh(String tenantDomain, String refreshToken, Exchange exchange, long timeoutMillis)
+            throws ExecutionException, TimeoutException, InterruptedException {
+        String key = IntrospectionCache.hash(tenantDomain + ' ' + refreshToken);
+        Result result = getRecent(key);
+        if (result != null) {
+            replayed.increment();
+            return result;
+        }
+        boolean[] ran = new boolean[1];
+        result = exchanges.execute(key, () -> {
+            ran[0] = true;
+            Result exchanged = exchange.exchange();
+            // kept before the exchange leaves the in flight map, so no request falls in between the two
+            if (exchanged.isSuccessful() && graceWindowMillis > 0) {
+                synchronized (recent) {
+                    recent.put(key, new RecentResult(exchanged, System.currentTimeMillis() + graceWindowMillis));
+                }
+            }
+            return exchanged;
+        }, timeoutMillis);
+        if (!ran[0]) {
+            coalesced.increment();
+        }
+        return result;
+    }
+
+    private Result getRecent(String key) {
+        if (graceWindowMillis <= 0) {
+            return null;
+        }
+        synchronized (recent) {
+            RecentResult entry = recent.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                recent.remove(key);
+                return null;
+            }
+            return entry == null ? null : entry.result;
+        }
+    }
+
+    /**
+     * @return number of refreshes that waited for the exchange of another request
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return number of refreshes answered from the grace window
+     */
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+
+    /**
+     * Exchanges a refresh token at the token endpoint.
+     */
+    @FunctionalInterface
+    public interface Exchange {
+
+        /**
+         * @return status and body of the token response
+         * @throws Exception if the token endpoint could not be called
+         */
+        Result exchange() throws Exception;
+    }
+
+    /**
+     * Status and body of a token response.
+     */
+    public static final class Result {
+
+        private final int statusCode;
+        private final String body;
+
+        public Result(int statusCode, String body) {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public boolean isSuccessful() {
+            return statusCode == 200;
+        }
+    }
+
+    private static final class RecentResult {
+
+        private final Result result;
+        private final long expiresAt;
+
+        private RecentResult(Result result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs at most one call per key at a time. The first caller of a key runs the call in its own thread, callers that
+ * arrive with the same key while it is running wait for its outcome instead of running the call again. Calls of
+ * different keys do not wait for each other.
+ * <p>
+ * Waiting callers give up after the given timeout, the running call itself is not interrupted and its outcome is
+ * still shared with the callers that arrive before it completes.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the result
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the given call, or waits for the call that is already running for the given key.
+     * @param key           key of the call
+     * @param call          call to be run
+     * @param timeoutMillis maximum time to wait for a call run by another caller
+     * @return result of the call
+     * @throws ExecutionException   if the call failed, the cause is the exception thrown by the call
+     * @throws TimeoutException     if the call run by another caller did not complete in time
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public V execute(K key, Callable<V> call, long timeoutMillis)
+            throws ExecutionException, TimeoutException, InterruptedException {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        try {
+            V value = call.call();
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw new ExecutionException(e);
+        } catch (Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @return number of keys with a running call
+     */
+    public int size() {
+        return inFlight.size();
+    }
+}
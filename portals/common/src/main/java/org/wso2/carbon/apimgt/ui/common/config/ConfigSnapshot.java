@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.config;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, parsed content of a json configuration file at a given point in time.
+ */
+public final class ConfigSnapshot {
+
+    private final String path;
+    private final long version;
+    private final long lastModified;
+    private final long size;
+    private final Map<String, Object> content;
+    private final ConcurrentHashMap<Object, Object> derived = new ConcurrentHashMap<>();
+
+    ConfigSnapshot(String path, long version, long lastModified, long size, Map<String, Object> content) {
+        this.path = path;
+        this.version = version;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.content = content != null ? freezeMap(content) : new FrozenMap(Collections.emptyMap());
+    }
+
+    /**
+     * Returns a copy-on-write view of the configuration. Changes done to the view (or to any nested map obtained
+     * from it) are local to the view and never visible to other requests.
+     * @return mutable view backed by this snapshot
+     */
+    public Map<String, Object> view() {
+        return new ConfigView(this, content);
+    }
+
+    /**
+     * @return read only content of the configuration
+     */
+    public Map<String, Object> getContent() {
+        return content;
+    }
+
+    /**
+     * Returns a value derived from the content of this snapshot, ex: a matcher built from a list of the
+     * configuration. The value is computed once per snapshot, hence once per version of the file.
+     * @param key      key of the derived value, usually the class computing it
+     * @param function computes the value from the read only content, must not return null
+     * @param <T>      type of the value
+     * @return derived value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T derive(Object key, Function<Map<String, Object>, T> function) {
+        Object value = derived.get(key);
+        if (value == null) {
+            value = derived.computeIfAbsent(key, k -> function.apply(content));
+        }
+        return (T) value;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return monotonically increasing number which changes every time the file is reloaded
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private static Map<String, Object> freezeMap(Map<?, ?> source) {
+        Map<String, Object> copy = new LinkedHashMap<>(source.size() * 4 / 3 + 1);
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            copy.put(String.valueOf(entry.getKey()), freeze(entry.getValue()));
+        }
+        return new FrozenMap(copy);
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof Map) {
+            return freezeMap((Map<?, ?>) value);
+        }
+        if (value instanceof List) {
+            List<?> source = (List<?>) value;
+            List<Object> copy = new ArrayList<>(source.size());
+            for (Object item : source) {
+                copy.add(freeze(item));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    /**
+     * Read only map used for every nested json object of a snapshot.
+     */
+    static final class FrozenMap extends AbstractMap<String, Object> {
+
+        private final Map<String, Object> delegate;
+
+        FrozenMap(Map<String, Object> delegate) {
+            this.delegate = Collections.unmodifiableMap(delegate);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return delegate.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return delegate.entrySet();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.config;
+
+import com.google.gson.Gson;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * In-memory store of the portal json configuration files (settings.json, userTheme.json etc.).
+ * <p>
+ * Each file is parsed once into an immutable {@link ConfigSnapshot} keyed by its real path. The file is stat-ed at
+ * most once per {@link #CHECK_INTERVAL_MS} and re-parsed only when its last modified time or size has changed, so the
+ * per request cost of reading a configuration is a map lookup.
+ */
+public final class ConfigStore {
+
+    private static final Log log = LogFactory.getLog(ConfigStore.class);
+    private static final long CHECK_INTERVAL_MS = 1000;
+    private static final ConfigStore INSTANCE = new ConfigStore();
+
+    private final Gson gson = new Gson();
+    private final AtomicLong versionCounter = new AtomicLong();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private ConfigStore() {
+    }
+
+    public static ConfigStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current snapshot of the json file in the given real path, loading or reloading it if required.
+     * @param realPath absolute path to the json file
+     * @return immutable snapshot of the file content
+     * @throws FileNotFoundException if the file does not exist or cannot be read
+     */
+    public ConfigSnapshot get(String realPath) throws FileNotFoundException {
+        if (realPath == null) {
+            throw new FileNotFoundException("Configuration file path cannot be resolved");
+        }
+        Entry entry = entries.computeIfAbsent(realPath, Entry::new);
+        ConfigSnapshot snapshot = entry.snapshot;
+        long now = System.nanoTime();
+        if (snapshot != null && now - entry.lastChecked < TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MS)) {
+            return snapshot;
+        }
+        synchronized (entry) {
+            if (entry.snapshot != null && now - entry.lastChecked < TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MS)) {
+                return entry.snapshot;
+            }
+            entry.refresh();
+            return entry.snapshot;
+        }
+    }
+
+    /**
+     * Drops the cached snapshot of the given file so that it is read again on the next access.
+     * @param realPath absolute path to the json file
+     */
+    public void invalidate(String realPath) {
+        if (realPath != null) {
+            entries.remove(realPath);
+        }
+    }
+
+    private final class Entry {
+
+        private final Path path;
+        private volatile ConfigSnapshot snapshot;
+        private volatile long lastChecked;
+
+        private Entry(String realPath) {
+            this.path = Paths.get(realPath);
+        }
+
+        private void refresh() throws FileNotFoundException {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException e) {
+                snapshot = null;
+                throw toFileNotFound(e);
+            }
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            long size = attributes.size();
+            if (snapshot == null || snapshot.getLastModified() != lastModified || snapshot.getSize() != size) {
+                Map<String, Object> content;
+                try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    content = gson.fromJson(reader, Map.class);
+                } catch (IOException e) {
+                    throw toFileNotFound(e);
+                }
+                snapshot = new ConfigSnapshot(path.toString(), versionCounter.incrementAndGet(), lastModified, size,
+                        content);
+                if (log.isDebugEnabled()) {
+                    log.debug("Loaded configuration " + path + " (version " + snapshot.getVersion() + ")");
+                }
+            }
+            lastChecked = System.nanoTime();
+        }
+
+        private FileNotFoundException toFileNotFound(IOException e) {
+            FileNotFoundException exception = new FileNotFoundException(
+                    e instanceof NoSuchFileException ? path + " (No such file or directory)" : path.toString());
+            exception.initCause(e);
+            return exception;
+        }
+    }
+}
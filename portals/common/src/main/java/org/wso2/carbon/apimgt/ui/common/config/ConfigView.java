@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.config;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copy-on-write map over a {@link ConfigSnapshot}. Reads go straight to the shared snapshot; the first write copies
+ * only the affected level into a request local map. Nested json objects are returned as child views, so code such as
+ * {@code ((Map) settings.get("app")).put("context", context)} changes this view only.
+ */
+public final class ConfigView extends AbstractMap<String, Object> {
+
+    private final ConfigSnapshot snapshot;
+    private final Map<String, Object> source;
+    private Map<String, Object> copy;
+    private Map<String, ConfigView> children;
+
+    ConfigView(ConfigSnapshot snapshot, Map<String, Object> source) {
+        this.snapshot = snapshot;
+        this.source = source;
+    }
+
+    /**
+     * @return snapshot this view was created from
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (children != null) {
+            ConfigView child = children.get(key);
+            if (child != null) {
+                return child;
+            }
+        }
+        Object value = current().get(key);
+        if (value instanceof ConfigSnapshot.FrozenMap) {
+            ConfigView child = new ConfigView(snapshot, (ConfigSnapshot.FrozenMap) value);
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            children.put((String) key, child);
+            return child;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return current().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return current().size();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        writable().put(key, value);
+        if (children != null) {
+            children.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        writable().remove(key);
+        if (children != null) {
+            children.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        copy = new LinkedHashMap<>();
+        children = null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<Entry<String, Object>> iterator = current().entrySet().iterator();
+                return new Iterator<Entry<String, Object>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Entry<String, Object> entry = iterator.next();
+                        ConfigView child = children != null ? children.get(entry.getKey()) : null;
+                        return new SimpleImmutableEntry<>(entry.getKey(), child != null ? child : entry.getValue());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return current().size();
+            }
+        };
+    }
+
+    private Map<String, Object> current() {
+        return copy != null ? copy : source;
+    }
+
+    private Map<String, Object> writable() {
+        if (copy == null) {
+            copy = new LinkedHashMap<>(source);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled "." separated path to a value of a json object tree, such as {@code app.customUrl.enabled}.
+ * <p>
+ * The path is split once into interned keys, so reading a value is one map lookup per level without allocating.
+ * Compiled paths are shared, {@link #compile(String)} returns the same instance for the same path. The typed getters
+ * return the default value instead of failing when the value is missing or of an unexpected type.
+ */
+public final class JsonPath {
+
+    private static final int MAX_CACHED_PATHS = 1024;
+    private static final Map<String, JsonPath> PATHS = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String[] keys;
+
+    private JsonPath(String path) {
+        this.path = path;
+        String[] parts = path.split("\\.");
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].intern();
+        }
+        this.keys = parts;
+    }
+
+    /**
+     * Returns the compiled form of the given path.
+     * @param path path to a value separated by "." for each level
+     * @return compiled path
+     */
+    public static JsonPath compile(String path) {
+        JsonPath jsonPath = PATHS.get(path);
+        if (jsonPath == null) {
+            jsonPath = new JsonPath(path);
+            if (PATHS.size() < MAX_CACHED_PATHS) {
+                JsonPath existing = PATHS.putIfAbsent(path, jsonPath);
+                if (existing != null) {
+                    jsonPath = existing;
+                }
+            }
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Returns the value in this path of the given json object.
+     * @param json json object to be read
+     * @return value in the path, or null if the path does not exist
+     */
+    public Object get(Map<?, ?> json) {
+        Object value = json;
+        for (String key : keys) {
+            if (!(value instanceof Map)) {
+                return null;
+            }
+            value = ((Map<?, ?>) value).get(key);
+            if (value == null) {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param json json object to be read
+     * @return string value in this path, or null if the path does not exist or is not a string
+     */
+    public String getString(Map<?, ?> json) {
+        Object value = get(json);
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * @param json         json object to be read
+     * @param defaultValue value returned if the path does not exist or is not a boolean
+     * @return boolean value in this path
+     */
+    public boolean getBoolean(Map<?, ?> json, boolean defaultValue) {
+        Object value = get(json);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    /**
+     * @param json json object to be read
+     * @param <T>  type of the list elements
+     * @return list in this path, or null if the path does not exist or is not a list
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(Map<?, ?> json) {
+        Object value = get(json);
+        return value instanceof List ? (List<T>) value : null;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
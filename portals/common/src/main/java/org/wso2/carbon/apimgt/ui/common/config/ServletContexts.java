@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.config;
+
+import java.util.function.Function;
+import javax.servlet.ServletContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Reads the context parameters of a web application and keeps the services shared by its requests (caches, HTTP
+ * client, executors etc.) as context attributes.
+ */
+public final class ServletContexts {
+
+    private static final Log log = LogFactory.getLog(ServletContexts.class);
+
+    private ServletContexts() {
+    }
+
+    /**
+     * Returns the service kept in the given context attribute, creating it on first use. Creation is serialized per
+     * web application, so the web applications sharing the class do not wait for each other. The factory may get
+     * other services of the same web application.
+     * @param context   servlet context of the web application
+     * @param attribute name of the context attribute
+     * @param factory   creates the service from the servlet context
+     * @return service of the web application
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getOrCreate(ServletContext context, String attribute, Function<ServletContext, T> factory) {
+        T service = (T) context.getAttribute(attribute);
+        if (service == null) {
+            // the container hands out the same ServletContext instance for the lifetime of the web application
+            synchronized (context) {
+                service = (T) context.getAttribute(attribute);
+                if (service == null) {
+                    service = factory.apply(context);
+                    context.setAttribute(attribute, service);
+                }
+            }
+        }
+        return service;
+    }
+
+    /**
+     * @param context      servlet context of the web application
+     * @param name         name of the context parameter
+     * @param defaultValue value used if the parameter is not set or is not a number
+     * @return value of the context parameter
+     */
+    public static long getLong(ServletContext context, String name, long defaultValue) {
+        return parseLong(name, context.getInitParameter(name), defaultValue);
+    }
+
+    /**
+     * @param context      servlet context of the web application
+     * @param name         name of the context parameter
+     * @param defaultValue value used if the parameter is not set or is not a number
+     * @return value of the context parameter
+     */
+    public static int getInt(ServletContext context, String name, int defaultValue) {
+        long value = getLong(context, name, defaultValue);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            log.warn("Value " + value + " configured for " + name + " is out of range, using " + defaultValue);
+            return defaultValue;
+        }
+        return (int) value;
+    }
+
+    /**
+     * @param context      servlet context of the web application
+     * @param name         name of the context parameter
+     * @param defaultValue value used if the parameter is not set
+     * @return value of the context parameter, true only if it is true ignoring case
+     */
+    public static boolean getBoolean(ServletContext context, String name, boolean defaultValue) {
+        String value = context.getInitParameter(name);
+        return value == null || value.trim().isEmpty() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Parses the value of a context, servlet or filter parameter.
+     * @param name         name of the parameter, used in the log message of an invalid value
+     * @param value        value of the parameter, may be null
+     * @param defaultValue value used if the parameter is not set or is not a number
+     * @return value of the parameter
+     */
+    public static long parseLong(String name, String value, long defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid numeric value '" + value + "' configured for " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
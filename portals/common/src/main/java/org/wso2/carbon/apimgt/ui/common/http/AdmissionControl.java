@@ -0,0 +1,255 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.io.FileNotFoundException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.ServletContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+import org.wso2.carbon.apimgt.ui.common.metrics.AdmissionStats;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+
+/**
+ * Admission control of the loopback calls of a portal, with an {@link UpstreamLimiter} per {@link Upstream}. When
+ * the key manager slows down, the calls of the portal services queue up in front of it for a bounded time and are
+ * then shed with an {@link UpstreamRejectedException}, instead of piling up more and more concurrent calls on it.
+ * <p>
+ * The limits are read from app.loopback.admissionControl of the settings.json of the portal, and are applied again
+ * whenever the file changes. The values under "upstreams" override the defaults for a single upstream, ex:
+ * <pre>
+ * "loopback": {
+ *     "admissionControl": {
+ *         "enabled": true,
+ *         "maxConcurrent": 64,
+ *         "maxQueue": 128,
+ *         "queueTimeout": 2000,
+ *         "retryAfter": 5,
+ *         "circuitBreaker": {
+ *             "windowSize": 20,
+ *             "failureRateThreshold": 50,
+ *             "openDuration": 30
+ *         },
+ *         "upstreams": {
+ *             "dcr": { "maxConcurrent": 8 }
+ *         }
+ *     }
+ * }
+ * </pre>
+ * queueTimeout is in milliseconds, retryAfter and openDuration are in seconds and failureRateThreshold is a
+ * percentage.
+ */
+final class AdmissionControl {
+
+    private static final Log log = LogFactory.getLog(AdmissionControl.class);
+    private static final JsonPath SETTINGS = JsonPath.compile("app.loopback.admissionControl");
+
+    private final String settingsPath;
+    private final Map<Upstream, UpstreamLimiter> limiters = new EnumMap<>(Upstream.class);
+    private volatile Map<Upstream, Limits> applied;
+
+    AdmissionControl(String settingsPath) {
+        this.settingsPath = settingsPath;
+        this.applied = parse(Collections.emptyMap());
+        for (Upstream upstream : Upstream.values()) {
+            limiters.put(upstream, new UpstreamLimiter(upstream, applied.get(upstream)));
+        }
+    }
+
+    /**
+     * Creates the admission control of the given web application, reading its limits from the settings.json of the
+     * portal. The default limits are used if the web application has no portal.
+     * @param context servlet context of the web application
+     * @return new admission control
+     */
+    static AdmissionControl create(ServletContext context) {
+        String settingsPath = null;
+        try {
+            settingsPath = context.getRealPath(Portal.get(context).getSettingsPath());
+        } catch (IllegalStateException e) {
+            log.warn("Settings of the portal could not be resolved, the default admission control limits are used",
+                    e);
+        }
+        return new AdmissionControl(settingsPath);
+    }
+
+    /**
+     * Waits for a slot to send a call to the given upstream.
+     * @param upstream endpoint to be called
+     * @return permit to be released once the call completed
+     * @throws UpstreamRejectedException if the call has to be shed
+     * @throws InterruptedException      if interrupted while waiting for a slot
+     */
+    Permit acquire(Upstream upstream) throws UpstreamRejectedException, InterruptedException {
+        refresh();
+        return limiters.get(upstream).acquire();
+    }
+
+    /**
+     * @return state of the limiter of each upstream
+     */
+    Map<Upstream, AdmissionStats> getStats() {
+        Map<Upstream, AdmissionStats> stats = new EnumMap<>(Upstream.class);
+        for (Map.Entry<Upstream, UpstreamLimiter> limiter : limiters.entrySet()) {
+            stats.put(limiter.getKey(), limiter.getValue().getStats());
+        }
+        return stats;
+    }
+
+    private void refresh() {
+        if (settingsPath == null) {
+            return;
+        }
+        Map<Upstream, Limits> current;
+        try {
+            // parsed once per version of the settings file
+            current = ConfigStore.getInstance().get(settingsPath).derive(AdmissionControl.class,
+                    AdmissionControl::parse);
+        } catch (FileNotFoundException e) {
+            return;
+        }
+        if (current != applied) {
+            synchronized (this) {
+                if (current != applied) {
+                    for (Map.Entry<Upstream, UpstreamLimiter> limiter : limiters.entrySet()) {
+                        limiter.getValue().configure(current.get(limiter.getKey()));
+                    }
+                    applied = current;
+                }
+            }
+        }
+    }
+
+    private static Map<Upstream, Limits> parse(Map<String, Object> settings) {
+        Map<?, ?> config = asMap(SETTINGS.get(settings));
+        Limits defaults = new Limits(config, Limits.DEFAULT);
+        Map<?, ?> overrides = asMap(config.get("upstreams"));
+        Map<Upstream, Limits> limits = new EnumMap<>(Upstream.class);
+        for (Upstream upstream : Upstream.values()) {
+            Map<?, ?> override = asMap(overrides.get(upstream.getLabel()));
+            limits.put(upstream, override.isEmpty() ? defaults : new Limits(override, defaults));
+        }
+        return limits;
+    }
+
+    private static Map<?, ?> asMap(Object value) {
+        return value instanceof Map ? (Map<?, ?>) value : Collections.emptyMap();
+    }
+
+    /**
+     * Slot of a call to an upstream, released exactly once when the call completed or cancelled when it was given up.
+     */
+    static class Permit {
+
+        static final Permit UNLIMITED = new Permit(null, false);
+
+        private final UpstreamLimiter limiter;
+        private final boolean trial;
+
+        Permit(UpstreamLimiter limiter, boolean trial) {
+            this.limiter = limiter;
+            this.trial = trial;
+        }
+
+        /**
+         * @param failed true if the call failed, timed out or was answered with a 5xx
+         */
+        void release(boolean failed) {
+            if (limiter != null) {
+                limiter.release(trial, failed);
+            }
+        }
+
+        /**
+         * Releases the slot of a call given up before it completed, without counting it as a success or a failure.
+         */
+        void cancel() {
+            if (limiter != null) {
+                limiter.cancel(trial);
+            }
+        }
+    }
+
+    /**
+     * Limits of the calls to an upstream.
+     */
+    static final class Limits {
+
+        static final Limits DEFAULT = new Limits();
+
+        final boolean enabled;
+        final int maxConcurrent;
+        final int maxQueue;
+        final long queueTimeoutMillis;
+        final long retryAfterSeconds;
+        final int windowSize;
+        final int failureRateThreshold;
+        final long openDurationMillis;
+
+        private Limits() {
+            enabled = true;
+            maxConcurrent = 64;
+            maxQueue = 128;
+            queueTimeoutMillis = 2000;
+            retryAfterSeconds = 5;
+            windowSize = 20;
+            failureRateThreshold = 50;
+            openDurationMillis = TimeUnit.SECONDS.toMillis(30);
+        }
+
+        Limits(Map<?, ?> config, Limits defaults) {
+            Map<?, ?> circuitBreaker = asMap(config.get("circuitBreaker"));
+            Object enabledValue = config.get("enabled");
+            enabled = enabledValue instanceof Boolean ? (Boolean) enabledValue : defaults.enabled;
+            maxConcurrent = (int) Math.max(1, readLong(config, "maxConcurrent", defaults.maxConcurrent));
+            maxQueue = (int) Math.max(0, readLong(config, "maxQueue", defaults.maxQueue));
+            queueTimeoutMillis = Math.max(0, readLong(config, "queueTimeout", defaults.queueTimeoutMillis));
+            retryAfterSeconds = Math.max(1, readLong(config, "retryAfter", defaults.retryAfterSeconds));
+            windowSize = (int) Math.max(1, readLong(circuitBreaker, "windowSize", defaults.windowSize));
+            failureRateThreshold = (int) Math.min(100, Math.max(1,
+                    readLong(circuitBreaker, "failureRateThreshold", defaults.failureRateThreshold)));
+            long openDuration = readLong(circuitBreaker, "openDuration", -1);
+            openDurationMillis = openDuration < 0 ? defaults.openDurationMillis
+                    : TimeUnit.SECONDS.toMillis(openDuration);
+        }
+
+        private static long readLong(Map<?, ?> config, String key, long defaultValue) {
+            Object value = config.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+            try {
+                return Long.parseLong(value.toString().trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid numeric value '" + value + "' configured for " + key
+                        + " of the loopback admission control, using " + defaultValue);
+                return defaultValue;
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigView;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+
+/**
+ * Validates the host sent in the forwarded header configured in app.customUrl.forwardedHeader against the hosts
+ * allowed in app.customUrl.allowedHosts, before the host is used to build redirect and callback URLs.
+ * <p>
+ * The allowed hosts are compiled once per version of the settings file into a set of lower case host names, looked up
+ * in constant time, and a trie of the reversed labels of the wildcard entries, ex: {@code *.example.com}, walked in
+ * time proportional to the number of labels of the forwarded host. Hence the number of allowed hosts does not affect
+ * the cost of a request.
+ */
+public final class ForwardedHostValidator {
+
+    private static final Log log = LogFactory.getLog(ForwardedHostValidator.class);
+
+    private static final JsonPath ALLOWED_HOSTS = JsonPath.compile("app.customUrl.allowedHosts");
+    private static final ForwardedHostValidator ALLOW_ALL =
+            new ForwardedHostValidator(true, Collections.emptySet(), new Node());
+
+    private final boolean allowAll;
+    private final Set<String> hosts;
+    private final Node wildcards;
+
+    private ForwardedHostValidator(boolean allowAll, Set<String> hosts, Node wildcards) {
+        this.allowAll = allowAll;
+        this.hosts = hosts;
+        this.wildcards = wildcards;
+    }
+
+    /**
+     * Returns the validator of the allowed hosts of the given settings. If the settings are read through
+     * Util.readJsonFile, the validator is compiled once per version of the file and shared by all the requests.
+     * @param settings settings of the portal
+     * @return validator of app.customUrl.allowedHosts
+     */
+    public static ForwardedHostValidator get(Map<String, Object> settings) {
+        if (settings instanceof ConfigView) {
+            return ((ConfigView) settings).getSnapshot().derive(ForwardedHostValidator.class,
+                    content -> compile(ALLOWED_HOSTS.getList(content)));
+        }
+        return compile(ALLOWED_HOSTS.getList(settings));
+    }
+
+    /**
+     * Compiles the given allowed hosts. An entry is a host name or an IP address, compared case insensitively, or
+     * {@code *.} followed by a domain, which allows any sub domain of it but not the domain itself. Any other entry
+     * is ignored with a warning.
+     * @param allowedHosts allowed hosts, all hosts are allowed if null or empty
+     * @return validator of the allowed hosts
+     */
+    public static ForwardedHostValidator compile(List<?> allowedHosts) {
+        if (allowedHosts == null || allowedHosts.isEmpty()) {
+            return ALLOW_ALL;
+        }
+        Set<String> hosts = new HashSet<>();
+        Node wildcards = new Node();
+        for (Object entry : allowedHosts) {
+            String allowedHost = entry instanceof String ? ((String) entry).trim().toLowerCase(Locale.ROOT) : null;
+            if (allowedHost == null || allowedHost.isEmpty()) {
+                log.warn("Ignoring invalid entry in app.customUrl.allowedHosts: " + entry);
+            } else if (allowedHost.startsWith("*.") && allowedHost.indexOf('*', 1) < 0 && allowedHost.length() > 2) {
+                wildcards.add(allowedHost.substring(2));
+            } else if (allowedHost.indexOf('*') >= 0) {
+                log.warn("Ignoring unsupported wildcard in app.customUrl.allowedHosts: " + allowedHost);
+            } else if (allowedHost.charAt(0) == '[' && allowedHost.charAt(allowedHost.length() - 1) == ']') {
+                hosts.add(allowedHost.substring(1, allowedHost.length() - 1));
+            } else {
+                hosts.add(allowedHost);
+            }
+        }
+        return new ForwardedHostValidator(false, hosts, wildcards);
+    }
+
+    /**
+     * Returns whether the given forwarded host is allowed. The port, if any, is ignored.
+     * @param forwardedFor value of the forwarded header, a host name, an IPv4 address or a bracketed IPv6 address,
+     *                     with an optional port, or an IPv6 address without brackets and port
+     * @return true if the host is allowed
+     */
+    public boolean isAllowed(String forwardedFor) {
+        if (allowAll) {
+            return true;
+        }
+        String host = parseHost(forwardedFor);
+        if (host == null) {
+            return false;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        return hosts.contains(host) || wildcards.matches(host);
+    }
+
+    /**
+     * Extracts the host of a host header value, ex: {@code example.com:9443}, {@code [::1]:9443} or {@code ::1}.
+     * @return host without the port or the brackets of an IPv6 address, or null if the value is malformed
+     */
+    static String parseHost(String value) {
+        if (value == null) {
+            return null;
+        }
+        String hostAndPort = value.trim();
+        String host;
+        int portIndex;
+        if (hostAndPort.startsWith("[")) {
+            int end = hostAndPort.indexOf(']');
+            if (end < 0) {
+                return null;
+            }
+            host = hostAndPort.substring(1, end);
+            portIndex = end + 1;
+            if (portIndex < hostAndPort.length() && hostAndPort.charAt(portIndex) != ':') {
+                return null;
+            }
+        } else {
+            int colon = hostAndPort.indexOf(':');
+            if (colon >= 0 && hostAndPort.indexOf(':', colon + 1) >= 0) {
+                // an IPv6 address without brackets can not have a port
+                return hostAndPort;
+            }
+            host = colon >= 0 ? hostAndPort.substring(0, colon) : hostAndPort;
+            portIndex = colon >= 0 ? colon : hostAndPort.length();
+        }
+        if (host.isEmpty() || !isPort(hostAndPort, portIndex)) {
+            return null;
+        }
+        return host;
+    }
+
+    private static boolean isPort(String hostAndPort, int portIndex) {
+        if (portIndex >= hostAndPort.length()) {
+            return true;
+        }
+        // the character at portIndex is the ':' separating the port
+        int length = hostAndPort.length() - portIndex - 1;
+        if (length < 1 || length > 5) {
+            return false;
+        }
+        for (int i = portIndex + 1; i < hostAndPort.length(); i++) {
+            char c = hostAndPort.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Node of the trie of the wildcard entries, keyed by the labels of the domain starting from the last one.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean wildcard;
+
+        void add(String domain) {
+            Node node = this;
+            int end = domain.length();
+            while (end > 0) {
+                int start = domain.lastIndexOf('.', end - 1) + 1;
+                node = node.children.computeIfAbsent(domain.substring(start, end), label -> new Node());
+                end = start - 1;
+            }
+            node.wildcard = true;
+        }
+
+        boolean matches(String host) {
+            Node node = this;
+            int end = host.length();
+            while (end > 0 && !node.children.isEmpty()) {
+                int start = host.lastIndexOf('.', end - 1) + 1;
+                node = node.children.get(host.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+                end = start - 1;
+                if (node.wildcard && end > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
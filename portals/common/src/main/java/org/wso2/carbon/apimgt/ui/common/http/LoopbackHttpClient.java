@@ -0,0 +1,264 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.ServletContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+import org.wso2.carbon.apimgt.ui.common.metrics.ServiceMetrics;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+
+/**
+ * HTTP client used by the portal services for the loopback calls to the key manager (token, DCR, user info,
+ * introspect, settings REST API). A single instance is shared by all requests of a web application, so connections
+ * and TLS sessions to the loopback origin are reused instead of being set up again on every request.
+ * <p>
+ * The instance is created by {@link LoopbackHttpClientListener} when the web application starts and closed when it
+ * is undeployed. Calls sent through {@link #send} and {@link #sendAsync} are timed per {@link Upstream} in the
+ * {@link ServiceMetrics} of the web application, and pass through the {@link AdmissionControl} of the web
+ * application, which sheds them with an {@link UpstreamRejectedException} when their upstream is saturated or keeps
+ * failing. Its limits are read from the settings.json of the portal, the state of its limiters is exposed with the
+ * metrics. The following context parameters can be used to tune the client,
+ * <ul>
+ *     <li>loopbackClient.connectTimeout - connect timeout in milliseconds</li>
+ *     <li>loopbackClient.requestTimeout - timeout of a single request in milliseconds</li>
+ *     <li>loopbackClient.maxThreads - maximum number of threads used to process responses</li>
+ *     <li>loopbackClient.maxQueue - number of responses waiting for a thread from which new calls are shed with an
+ *     {@link UpstreamRejectedException}, the responses of the calls already sent are always queued</li>
+ * </ul>
+ * The connection pool of the JDK HTTP client is shared by all the web applications of the server, hence its size and
+ * idle connection keep alive time are server level JVM options, set with -Djdk.httpclient.connectionPoolSize and
+ * -Djdk.httpclient.keepalive.timeout (in seconds) when starting the server.
+ */
+public final class LoopbackHttpClient implements AutoCloseable {
+
+    public static final String CONTEXT_ATTRIBUTE = LoopbackHttpClient.class.getName();
+
+    static final String CONNECT_TIMEOUT_PARAM = "loopbackClient.connectTimeout";
+    static final String REQUEST_TIMEOUT_PARAM = "loopbackClient.requestTimeout";
+    static final String MAX_THREADS_PARAM = "loopbackClient.maxThreads";
+    static final String MAX_QUEUE_PARAM = "loopbackClient.maxQueue";
+
+    private static final Log log = LogFactory.getLog(LoopbackHttpClient.class);
+    private static final long DEFAULT_CONNECT_TIMEOUT_MS = 5000;
+    private static final long DEFAULT_REQUEST_TIMEOUT_MS = 30000;
+    private static final int DEFAULT_MAX_THREADS = 16;
+    private static final int DEFAULT_MAX_QUEUE = 1000;
+    private static final long BACKLOG_RETRY_AFTER_SECONDS = 1;
+
+    private final HttpClient client;
+    private final ThreadPoolExecutor executor;
+    private final int maxQueue;
+    private final Duration requestTimeout;
+    private final ServiceMetrics metrics;
+    private final AdmissionControl admission;
+
+    LoopbackHttpClient(String name, Duration connectTimeout, Duration requestTimeout, int maxThreads,
+                       int maxQueue, ServiceMetrics metrics, AdmissionControl admission) {
+        this.requestTimeout = requestTimeout;
+        this.maxQueue = maxQueue;
+        this.metrics = metrics;
+        this.admission = admission;
+        metrics.setAdmission(admission::getStats);
+        // the client hands the completions of its exchanges over from its selector thread, they can neither be
+        // rejected nor run on that thread, hence the queue is not bounded and new calls are shed instead, see acquire
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DaemonThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Creates a client configured from the context parameters of the given web application.
+     * @param context servlet context of the web application
+     * @return new loopback client
+     */
+    static LoopbackHttpClient create(ServletContext context) {
+        Duration connectTimeout = Duration.ofMillis(
+                ServletContexts.getLong(context, CONNECT_TIMEOUT_PARAM, DEFAULT_CONNECT_TIMEOUT_MS));
+        Duration requestTimeout = Duration.ofMillis(
+                ServletContexts.getLong(context, REQUEST_TIMEOUT_PARAM, DEFAULT_REQUEST_TIMEOUT_MS));
+        int maxThreads = ServletContexts.getInt(context, MAX_THREADS_PARAM, DEFAULT_MAX_THREADS);
+        int maxQueue = ServletContexts.getInt(context, MAX_QUEUE_PARAM, DEFAULT_MAX_QUEUE);
+        String name = context.getContextPath().isEmpty() ? "ROOT" : context.getContextPath().substring(1);
+        return new LoopbackHttpClient(name, connectTimeout, requestTimeout, maxThreads, maxQueue,
+                ServiceMetrics.get(context), AdmissionControl.create(context));
+    }
+
+    /**
+     * Returns the loopback client of the given web application. If the listener is not registered, a client is
+     * created on first use and kept for the lifetime of the web application.
+     * @param context servlet context of the web application
+     * @return shared loopback client
+     */
+    public static LoopbackHttpClient get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE, LoopbackHttpClient::create);
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Returns a request builder for the given loopback URL with the configured request timeout applied.
+     * @param url request URL
+     * @return request builder
+     */
+    public HttpRequest.Builder newRequest(String url) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(requestTimeout);
+    }
+
+    /**
+     * Sends the given request once admitted and records its latency against the given upstream.
+     * @param upstream    endpoint called
+     * @param request     request to be sent
+     * @param bodyHandler handler of the response body
+     * @return response
+     * @throws UpstreamRejectedException if the call was shed by the admission control
+     * @throws IOException               if the request failed or timed out
+     * @throws InterruptedException      if interrupted while waiting for a slot or the response, the call is then
+     *                                   not counted as a failure of the upstream
+     */
+    public <T> HttpResponse<T> send(Upstream upstream, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        AdmissionControl.Permit permit = acquire(upstream);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            HttpResponse<T> response = client.send(request, bodyHandler);
+            failed = response.statusCode() >= 500;
+            return response;
+        } catch (InterruptedException e) {
+            // the caller gave up on the call, which is neither a success nor a failure of the upstream
+            permit.cancel();
+            permit = null;
+            throw e;
+        } finally {
+            if (permit != null) {
+                permit.release(failed);
+                metrics.recordUpstream(upstream, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * Sends the given request asynchronously and records its latency against the given upstream on completion. The
+     * calling thread waits while the call is queued by the admission control, the slot of the call is held until
+     * the response arrives even if the returned future is cancelled.
+     * @param upstream    endpoint called
+     * @param request     request to be sent
+     * @param bodyHandler handler of the response body
+     * @return future of the response, failed with an {@link UpstreamRejectedException} if the call was shed
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(Upstream upstream, HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> bodyHandler) {
+        AdmissionControl.Permit permit;
+        try {
+            permit = acquire(upstream);
+        } catch (UpstreamRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> future;
+        try {
+            future = client.sendAsync(request, bodyHandler);
+        } catch (RuntimeException e) {
+            permit.release(true);
+            throw e;
+        }
+        return future.whenComplete((response, e) -> {
+            if (e instanceof CancellationException) {
+                permit.cancel();
+                return;
+            }
+            boolean failed = e != null || response.statusCode() >= 500;
+            permit.release(failed);
+            metrics.recordUpstream(upstream, System.nanoTime() - start, failed);
+        });
+    }
+
+    /**
+     * Waits for a slot to send a call to the given upstream, unless the responses of the calls already sent are
+     * piling up in front of the threads of the client.
+     */
+    private AdmissionControl.Permit acquire(Upstream upstream) throws UpstreamRejectedException, InterruptedException {
+        if (executor.getQueue().size() >= maxQueue) {
+            throw new UpstreamRejectedException(upstream, UpstreamRejectedException.Reason.QUEUE_FULL,
+                    BACKLOG_RETRY_AFTER_SECONDS);
+        }
+        return admission.acquire(upstream);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        // HttpClient is closeable from JDK 21 onwards
+        if (client instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) client).close();
+            } catch (Exception e) {
+                log.warn("Error while closing the loopback HTTP client", e);
+            }
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private DaemonThreadFactory(String name) {
+            this.prefix = name + "-loopback-client-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Creates the {@link LoopbackHttpClient} of the web application on deployment and closes it on undeployment.
+ */
+public class LoopbackHttpClientListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        context.setAttribute(LoopbackHttpClient.CONTEXT_ATTRIBUTE, LoopbackHttpClient.create(context));
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        LoopbackHttpClient loopbackClient = (LoopbackHttpClient) context.getAttribute(
+                LoopbackHttpClient.CONTEXT_ATTRIBUTE);
+        if (loopbackClient != null) {
+            context.removeAttribute(LoopbackHttpClient.CONTEXT_ATTRIBUTE);
+            loopbackClient.close();
+        }
+    }
+}
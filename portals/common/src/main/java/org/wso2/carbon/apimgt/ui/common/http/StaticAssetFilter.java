@@ -0,0 +1,317 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Serves the bundles of the portal SPA. The .br and .gz variants written next to the bundles by the build
+ * (build/scripts/precompress.js) are served to the clients that accept them, instead of compressing the bundles on
+ * every request or not at all. Bundles with a content hash in their file name never change, hence they are marked
+ * immutable and cached for a year.
+ * <p>
+ * Large variants are sent with sendfile when the connector supports it, so their content is not copied through the
+ * heap, the others are streamed from the file. Nothing but the file metadata is kept in memory, and only for the
+ * content hashed bundles that have both variants: the other bundles are looked up on every request, so that a bundle
+ * replaced in place or a variant written after the first request is picked up. Requests the filter does not handle
+ * (ranges, bundles without a variant the client accepts) are left to the default servlet. The following init
+ * parameters can be used to tune it,
+ * <ul>
+ *     <li>immutablePattern - pattern found in the file names of content hashed bundles</li>
+ *     <li>immutableMaxAge - max-age in seconds of the content hashed bundles</li>
+ *     <li>zeroCopyThreshold - minimum size in bytes of a variant sent with sendfile</li>
+ * </ul>
+ */
+public class StaticAssetFilter implements Filter {
+
+    static final String IMMUTABLE_PATTERN_PARAM = "immutablePattern";
+    static final String IMMUTABLE_MAX_AGE_PARAM = "immutableMaxAge";
+    static final String ZERO_COPY_THRESHOLD_PARAM = "zeroCopyThreshold";
+
+    private static final Log log = LogFactory.getLog(StaticAssetFilter.class);
+    // webpack writes [name].[contenthash].bundle.js, the content hash being 20 hex characters by default
+    private static final String DEFAULT_IMMUTABLE_PATTERN = "\\.[0-9a-f]{16,}\\.";
+    private static final long DEFAULT_IMMUTABLE_MAX_AGE = 31536000;
+    // the default sendfileSize of the Tomcat connectors
+    private static final long DEFAULT_ZERO_COPY_THRESHOLD = 48 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final Asset NOT_FOUND = new Asset(false, null, null);
+
+    private ServletContext context;
+    private Pattern immutablePattern;
+    private String immutableCacheControl;
+    private long zeroCopyThreshold;
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        context = filterConfig.getServletContext();
+        String pattern = filterConfig.getInitParameter(IMMUTABLE_PATTERN_PARAM);
+        immutablePattern = Pattern.compile(pattern == null || pattern.trim().isEmpty()
+                ? DEFAULT_IMMUTABLE_PATTERN : pattern.trim());
+        immutableCacheControl = "public, max-age=" + ServletContexts.parseLong(IMMUTABLE_MAX_AGE_PARAM,
+                filterConfig.getInitParameter(IMMUTABLE_MAX_AGE_PARAM), DEFAULT_IMMUTABLE_MAX_AGE) + ", immutable";
+        zeroCopyThreshold = ServletContexts.parseLong(ZERO_COPY_THRESHOLD_PARAM,
+                filterConfig.getInitParameter(ZERO_COPY_THRESHOLD_PARAM), DEFAULT_ZERO_COPY_THRESHOLD);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String method = httpRequest.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = httpRequest.getServletPath()
+                + (httpRequest.getPathInfo() == null ? "" : httpRequest.getPathInfo());
+        Asset asset = getAsset(path);
+        if (asset == NOT_FOUND) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (asset.immutable) {
+            httpResponse.setHeader("Cache-Control", immutableCacheControl);
+        }
+        Variant variant = null;
+        if (asset.brotli != null || asset.gzip != null) {
+            httpResponse.setHeader("Vary", "Accept-Encoding");
+            if (httpRequest.getHeader("Range") == null) {
+                String acceptEncoding = httpRequest.getHeader("Accept-Encoding");
+                if (asset.brotli != null && accepts(acceptEncoding, "br")) {
+                    variant = asset.brotli;
+                } else if (asset.gzip != null && accepts(acceptEncoding, "gzip")) {
+                    variant = asset.gzip;
+                }
+            }
+        }
+        if (variant == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        serve(httpRequest, httpResponse, path, variant);
+    }
+
+    private Asset getAsset(String path) {
+        Asset asset = assets.get(path);
+        if (asset != null) {
+            return asset;
+        }
+        String realPath = context.getRealPath(path);
+        if (realPath == null || !Files.isRegularFile(Paths.get(realPath))) {
+            // not cached, so requests for arbitrary missing paths do not grow the map
+            return NOT_FOUND;
+        }
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        asset = new Asset(immutablePattern.matcher(fileName).find(), Variant.of(realPath + ".br", "br"),
+                Variant.of(realPath + ".gz", "gzip"));
+        // a content hashed bundle and its variants never change once written, any other bundle may
+        if (asset.immutable && asset.brotli != null && asset.gzip != null) {
+            assets.put(path, asset);
+        }
+        return asset;
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, String path, Variant variant)
+            throws IOException {
+        if (isNotModified(request, variant)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader("ETag", variant.etag);
+            return;
+        }
+        String contentType = context.getMimeType(path);
+        response.setContentType(contentType == null ? "application/octet-stream" : contentType);
+        response.setHeader("Content-Encoding", variant.encoding);
+        response.setHeader("ETag", variant.etag);
+        response.setDateHeader("Last-Modified", variant.lastModified);
+        response.setContentLengthLong(variant.length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (variant.length >= zeroCopyThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, variant.file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, variant.length);
+            return;
+        }
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        try (FileChannel in = FileChannel.open(variant.file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < variant.length) {
+                long transferred = in.transferTo(position, variant.length - position, out);
+                if (transferred <= 0) {
+                    throw new IOException("Precompressed variant " + variant.file + " was truncated while sent");
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, Variant variant) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, variant.etag);
+        }
+        try {
+            // HTTP dates have a precision of seconds
+            return request.getDateHeader("If-Modified-Since") >= variant.lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Tells whether the given If-None-Match header matches the given strong entity-tag, that is it is * or lists the
+     * entity-tag, weak or not (If-None-Match uses the weak comparison). A malformed header matches nothing.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        String value = ifNoneMatch.trim();
+        if ("*".equals(value)) {
+            return true;
+        }
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (value.startsWith("W/", i)) {
+                i += 2;
+            }
+            if (i >= length || value.charAt(i) != '"') {
+                return false;
+            }
+            int end = value.indexOf('"', i + 1);
+            if (end < 0) {
+                return false;
+            }
+            if (end + 1 - i == etag.length() && value.regionMatches(i, etag, 0, etag.length())) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether the given Accept-Encoding header accepts the given content coding, either by name or through *,
+     * and not with q=0.
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean accepted = false;
+        for (String element : acceptEncoding.split(",")) {
+            int separator = element.indexOf(';');
+            String name = (separator < 0 ? element : element.substring(0, separator)).trim();
+            boolean named = name.equalsIgnoreCase(coding);
+            if (!named && !"*".equals(name)) {
+                continue;
+            }
+            boolean rejected = separator >= 0 && element.substring(separator + 1).replace(" ", "")
+                    .matches("(?i)q=0(\\.0{0,3})?");
+            if (named) {
+                return !rejected;
+            }
+            accepted = !rejected;
+        }
+        return accepted;
+    }
+
+    @Override
+    public void destroy() {
+        assets.clear();
+    }
+
+    private static final class Asset {
+
+        private final boolean immutable;
+        private final Variant brotli;
+        private final Variant gzip;
+
+        private Asset(boolean immutable, Variant brotli, Variant gzip) {
+            this.immutable = immutable;
+            this.brotli = brotli;
+            this.gzip = gzip;
+        }
+    }
+
+    private static final class Variant {
+
+        private final Path file;
+        private final String encoding;
+        private final long length;
+        private final long lastModified;
+        private final String etag;
+
+        private Variant(Path file, String encoding, long length, long lastModified) {
+            this.file = file;
+            this.encoding = encoding;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "-" + encoding + "\"";
+        }
+
+        static Variant of(String path, String encoding) {
+            Path file = Paths.get(path);
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            try {
+                // sendfile needs the canonical path of the file
+                Path realFile = file.toRealPath();
+                return new Variant(realFile, encoding, Files.size(realFile),
+                        Files.getLastModifiedTime(realFile).toMillis());
+            } catch (IOException e) {
+                log.warn("Could not read the precompressed variant " + path, e);
+                return null;
+            }
+        }
+    }
+}
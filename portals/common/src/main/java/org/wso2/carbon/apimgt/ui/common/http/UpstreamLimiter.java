@@ -0,0 +1,284 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.metrics.AdmissionStats;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+
+/**
+ * Concurrency limit, bounded wait queue and circuit breaker of the loopback calls to a single upstream.
+ * <p>
+ * A call is sent right away while fewer than maxConcurrent calls are in flight, otherwise it waits in FIFO order
+ * for up to queueTimeout, and is rejected once maxQueue calls are waiting. The outcomes of the last windowSize calls
+ * are kept, when at least failureRateThreshold percent of them failed or timed out the circuit opens and every call
+ * is rejected for openDuration. After that a single trial call is let through (half open), its success closes the
+ * circuit and its failure opens it again.
+ */
+final class UpstreamLimiter {
+
+    private static final Log log = LogFactory.getLog(UpstreamLimiter.class);
+
+    private enum CircuitState {
+
+        CLOSED("closed"),
+        OPEN("open"),
+        HALF_OPEN("half_open");
+
+        private final String label;
+
+        CircuitState(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Upstream upstream;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final LongAdder[] rejected = new LongAdder[UpstreamRejectedException.Reason.values().length];
+
+    private AdmissionControl.Limits limits;
+    private int inFlight;
+    private int queued;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openUntil;
+    private boolean trialInFlight;
+    private boolean[] outcomes;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+
+    UpstreamLimiter(Upstream upstream, AdmissionControl.Limits limits) {
+        this.upstream = upstream;
+        this.limits = limits;
+        this.outcomes = new boolean[limits.windowSize];
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Applies new limits. Calls in flight and waiting are kept, the failure window is reset if its size changed.
+     * @param newLimits limits to be applied
+     */
+    void configure(AdmissionControl.Limits newLimits) {
+        lock.lock();
+        try {
+            if (newLimits.windowSize != outcomes.length) {
+                outcomes = new boolean[newLimits.windowSize];
+                resetWindow();
+            }
+            limits = newLimits;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for a slot to send a call.
+     * @return permit to be released once the call completed
+     * @throws UpstreamRejectedException if the call has to be shed
+     * @throws InterruptedException      if interrupted while waiting for a slot
+     */
+    AdmissionControl.Permit acquire() throws UpstreamRejectedException, InterruptedException {
+        lock.lock();
+        try {
+            if (!limits.enabled) {
+                return AdmissionControl.Permit.UNLIMITED;
+            }
+            long now = System.nanoTime();
+            if (state == CircuitState.OPEN) {
+                if (now - openUntil < 0) {
+                    throw reject(UpstreamRejectedException.Reason.CIRCUIT_OPEN, toSeconds(openUntil - now));
+                }
+                state = CircuitState.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (trialInFlight) {
+                    throw reject(UpstreamRejectedException.Reason.CIRCUIT_OPEN, limits.retryAfterSeconds);
+                }
+                trialInFlight = true;
+                inFlight++;
+                return new AdmissionControl.Permit(this, true);
+            }
+            // waiting calls go first, so a call arriving when a slot was just freed does not overtake them
+            if (inFlight < limits.maxConcurrent && queued == 0) {
+                inFlight++;
+                return new AdmissionControl.Permit(this, false);
+            }
+            if (queued >= limits.maxQueue) {
+                throw reject(UpstreamRejectedException.Reason.QUEUE_FULL, limits.retryAfterSeconds);
+            }
+            return await();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private AdmissionControl.Permit await() throws UpstreamRejectedException, InterruptedException {
+        queued++;
+        boolean acquired = false;
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(limits.queueTimeoutMillis);
+            while (state == CircuitState.CLOSED && limits.enabled && inFlight >= limits.maxConcurrent) {
+                if (remaining <= 0) {
+                    throw reject(UpstreamRejectedException.Reason.QUEUE_TIMEOUT, limits.retryAfterSeconds);
+                }
+                remaining = slotFreed.awaitNanos(remaining);
+            }
+            if (state != CircuitState.CLOSED) {
+                throw reject(UpstreamRejectedException.Reason.CIRCUIT_OPEN,
+                        state == CircuitState.OPEN ? toSeconds(openUntil - System.nanoTime())
+                                : limits.retryAfterSeconds);
+            }
+            if (!limits.enabled) {
+                return AdmissionControl.Permit.UNLIMITED;
+            }
+            inFlight++;
+            acquired = true;
+            return new AdmissionControl.Permit(this, false);
+        } finally {
+            queued--;
+            // a slot freed while this call was giving up goes to the next waiting call
+            if (!acquired && queued > 0 && inFlight < limits.maxConcurrent) {
+                slotFreed.signal();
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a completed call and records its outcome.
+     * @param trial  true if the call was the trial call of a half open circuit
+     * @param failed true if the call failed, timed out or was answered with a 5xx
+     */
+    void release(boolean trial, boolean failed) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (trial) {
+                trialInFlight = false;
+                if (failed) {
+                    open();
+                } else {
+                    close();
+                }
+            } else if (state == CircuitState.CLOSED) {
+                record(failed);
+            }
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the slot of a call given up by its caller before it completed, without recording an outcome: the
+     * call says nothing about the upstream. The slot of a trial call goes to the next call, which becomes the trial.
+     * @param trial true if the call was the trial call of a half open circuit
+     */
+    void cancel(boolean trial) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (trial) {
+                trialInFlight = false;
+            }
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failed) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[outcomeIndex]) {
+                failureCount--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomeIndex] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+        if (outcomeCount == outcomes.length && failureCount * 100 >= limits.failureRateThreshold * outcomeCount) {
+            log.warn(failureCount + " of the last " + outcomeCount + " calls to the " + upstream.getLabel()
+                    + " endpoint failed, rejecting its calls for " + limits.openDurationMillis + "ms");
+            open();
+        }
+    }
+
+    private void open() {
+        state = CircuitState.OPEN;
+        openUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limits.openDurationMillis);
+        resetWindow();
+        // waiting calls are rejected right away instead of waiting for a slot
+        slotFreed.signalAll();
+    }
+
+    private void close() {
+        if (state != CircuitState.CLOSED) {
+            log.info("Calls to the " + upstream.getLabel() + " endpoint succeed again, closing its circuit");
+        }
+        state = CircuitState.CLOSED;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        outcomeIndex = 0;
+        outcomeCount = 0;
+        failureCount = 0;
+    }
+
+    private UpstreamRejectedException reject(UpstreamRejectedException.Reason reason, long retryAfterSeconds) {
+        rejected[reason.ordinal()].increment();
+        return new UpstreamRejectedException(upstream, reason, retryAfterSeconds);
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * @return current state of the limiter
+     */
+    AdmissionStats getStats() {
+        lock.lock();
+        try {
+            CircuitState current = state == CircuitState.OPEN && System.nanoTime() - openUntil >= 0
+                    ? CircuitState.HALF_OPEN : state;
+            double failureRate = outcomeCount == 0 ? 0 : failureCount * 100.0 / outcomeCount;
+            return new AdmissionStats(limits.enabled ? current.label : "disabled", limits.maxConcurrent, inFlight,
+                    limits.maxQueue, queued, failureRate,
+                    rejected[UpstreamRejectedException.Reason.QUEUE_FULL.ordinal()].sum(),
+                    rejected[UpstreamRejectedException.Reason.QUEUE_TIMEOUT.ordinal()].sum(),
+                    rejected[UpstreamRejectedException.Reason.CIRCUIT_OPEN.ordinal()].sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.io.IOException;
+
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+
+/**
+ * Thrown by the {@link LoopbackHttpClient} when a loopback call is shed instead of being sent, because too many
+ * calls to its upstream are already waiting, the circuit of the upstream is open or the responses of the calls
+ * already sent are waiting for a thread of the client. The portal services answer it with a 503 and a Retry-After of
+ * {@link #getRetryAfterSeconds()}.
+ * <p>
+ * Shedding has to stay cheap while the key manager is struggling, hence no stack trace is filled in.
+ */
+public class UpstreamRejectedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Why a call was shed.
+     */
+    public enum Reason {
+
+        QUEUE_FULL("queue_full"),
+        QUEUE_TIMEOUT("queue_timeout"),
+        CIRCUIT_OPEN("circuit_open");
+
+        private final String label;
+
+        Reason(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return name of the reason in the metrics
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final transient Upstream upstream;
+    private final Reason reason;
+    private final long retryAfterSeconds;
+
+    public UpstreamRejectedException(Upstream upstream, Reason reason, long retryAfterSeconds) {
+        super("Call to the " + upstream.getLabel() + " endpoint was rejected (" + reason.getLabel() + ")");
+        this.upstream = upstream;
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Upstream getUpstream() {
+        return upstream;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return seconds after which the call may be retried
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
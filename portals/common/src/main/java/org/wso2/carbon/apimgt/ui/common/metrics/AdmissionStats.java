@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * State of the admission control of the loopback calls to an upstream, as exposed over JMX.
+ */
+public final class AdmissionStats {
+
+    private final String circuitState;
+    private final int maxConcurrent;
+    private final int inFlight;
+    private final int maxQueue;
+    private final int queued;
+    private final double failureRate;
+    private final long rejectedQueueFull;
+    private final long rejectedQueueTimeout;
+    private final long rejectedCircuitOpen;
+
+    @ConstructorProperties({"circuitState", "maxConcurrent", "inFlight", "maxQueue", "queued", "failureRate",
+            "rejectedQueueFull", "rejectedQueueTimeout", "rejectedCircuitOpen"})
+    public AdmissionStats(String circuitState, int maxConcurrent, int inFlight, int maxQueue, int queued,
+                          double failureRate, long rejectedQueueFull, long rejectedQueueTimeout,
+                          long rejectedCircuitOpen) {
+        this.circuitState = circuitState;
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = inFlight;
+        this.maxQueue = maxQueue;
+        this.queued = queued;
+        this.failureRate = failureRate;
+        this.rejectedQueueFull = rejectedQueueFull;
+        this.rejectedQueueTimeout = rejectedQueueTimeout;
+        this.rejectedCircuitOpen = rejectedCircuitOpen;
+    }
+
+    /**
+     * @return closed, open or half_open
+     */
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return number of calls being sent
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    /**
+     * @return number of calls waiting for a free slot
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return percentage of failed calls in the window of the circuit breaker
+     */
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public long getRejectedQueueFull() {
+        return rejectedQueueFull;
+    }
+
+    public long getRejectedQueueTimeout() {
+        return rejectedQueueTimeout;
+    }
+
+    public long getRejectedCircuitOpen() {
+        return rejectedCircuitOpen;
+    }
+}
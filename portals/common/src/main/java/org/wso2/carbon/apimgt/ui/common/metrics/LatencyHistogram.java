@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with fixed buckets. Recording a value does not allocate and does not contend between threads,
+ * hence it can be used on the request path of the services.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Upper bounds of the buckets in seconds, the last bucket (+Inf) is implicit.
+     */
+    static final double[] BOUNDS_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private static final long[] BOUNDS_NANOS = new long[BOUNDS_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+            BOUNDS_NANOS[i] = (long) (BOUNDS_SECONDS[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency.
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        int i = 0;
+        while (i < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * @return cumulative count of each bucket, the last one being the total count
+     */
+    public long[] getCumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            total += buckets[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    /**
+     * Estimates the given quantile from the buckets, by linear interpolation within the bucket it falls in.
+     * @param quantile quantile between 0 and 1
+     * @return estimated latency in milliseconds, or 0 if nothing was recorded
+     */
+    public double getQuantileMillis(double quantile) {
+        long[] counts = getCumulativeCounts();
+        long total = counts[counts.length - 1];
+        if (total == 0) {
+            return 0;
+        }
+        double rank = quantile * total;
+        for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+            if (counts[i] >= rank) {
+                double lower = i == 0 ? 0 : BOUNDS_SECONDS[i - 1];
+                long below = i == 0 ? 0 : counts[i - 1];
+                long inBucket = counts[i] - below;
+                double fraction = inBucket == 0 ? 1 : (rank - below) / inBucket;
+                return (lower + (BOUNDS_SECONDS[i] - lower) * fraction) * 1000;
+            }
+        }
+        // beyond the last bound, nothing better than the last bound is known
+        return BOUNDS_SECONDS[BOUNDS_SECONDS.length - 1] * 1000;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Serves the {@link ServiceMetrics} of the web application in the Prometheus text exposition format. The metrics
+ * carry tenant names, hence they are only served to loopback clients by default. A request that was forwarded by a
+ * proxy (it carries a Forwarded, X-Forwarded-For or X-Real-IP header) is not a loopback request, even if the proxy
+ * runs on the same host. The following context parameters can be used to open the metrics to remote scrapers,
+ * <ul>
+ *     <li>metrics.remoteAccess - true to serve the metrics to remote clients</li>
+ *     <li>metrics.accessToken - bearer token remote clients must send in the Authorization header, remote access
+ *     stays denied until it is set</li>
+ * </ul>
+ */
+public class MetricsServlet extends HttpServlet {
+
+    static final String REMOTE_ACCESS_PARAM = "metrics.remoteAccess";
+    static final String ACCESS_TOKEN_PARAM = "metrics.accessToken";
+
+    private static final Log log = LogFactory.getLog(MetricsServlet.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String BEARER = "Bearer ";
+    private static final String[] FORWARDED_HEADERS = {"Forwarded", "X-Forwarded-For", "X-Real-IP"};
+
+    private transient ServiceMetrics metrics;
+    private byte[] accessToken;
+
+    @Override
+    public void init() {
+        metrics = ServiceMetrics.get(getServletContext());
+        if (!ServletContexts.getBoolean(getServletContext(), REMOTE_ACCESS_PARAM, false)) {
+            return;
+        }
+        String token = getServletContext().getInitParameter(ACCESS_TOKEN_PARAM);
+        if (token == null || token.trim().isEmpty()) {
+            log.warn(REMOTE_ACCESS_PARAM + " is set but " + ACCESS_TOKEN_PARAM + " is not, the metrics are only "
+                    + "served to loopback clients");
+            return;
+        }
+        accessToken = token.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!isLocal(request)) {
+            if (accessToken == null) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            }
+            if (!isAuthorized(request.getHeader("Authorization"))) {
+                response.setHeader("WWW-Authenticate", "Bearer");
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+        }
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-store");
+        metrics.writePrometheus(response.getWriter());
+    }
+
+    private boolean isAuthorized(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return false;
+        }
+        byte[] token = authorization.substring(BEARER.length()).trim().getBytes(StandardCharsets.UTF_8);
+        // constant time, so the token cannot be guessed from the response times
+        return MessageDigest.isEqual(token, accessToken);
+    }
+
+    private static boolean isLocal(HttpServletRequest request) {
+        for (String header : FORWARDED_HEADERS) {
+            if (request.getHeader(header) != null) {
+                return false;
+            }
+        }
+        return isLoopback(request.getRemoteAddr());
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            // the remote address is an IP literal, hence this does not resolve anything
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
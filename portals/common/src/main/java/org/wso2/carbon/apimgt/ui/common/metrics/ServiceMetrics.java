@@ -0,0 +1,338 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.servlet.ServletContext;
+
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Latency histograms and counters of a portal: the services split by endpoint and tenant, the loopback calls to the
+ * key manager split by upstream and the system application queries, along with the state of the admission control
+ * of the loopback calls. They are exposed over JMX (registered by
+ * {@link ServiceMetricsListener}) and in the Prometheus text format by {@link MetricsServlet}.
+ * <p>
+ * Recording does not allocate once an endpoint/tenant pair has been seen. Only the tenants known to exist are given
+ * their own series and their number is capped, the requests of the other tenants, of unknown tenants and the ones
+ * without a tenant are counted under "other". The following context parameter can be used to tune it,
+ * <ul>
+ *     <li>metrics.maxTenants - maximum number of tenants with their own series</li>
+ * </ul>
+ */
+public final class ServiceMetrics implements ServiceMetricsMXBean {
+
+    public static final String CONTEXT_ATTRIBUTE = ServiceMetrics.class.getName();
+
+    static final String MAX_TENANTS_PARAM = "metrics.maxTenants";
+    static final String OTHER_TENANTS = "other";
+
+    private static final int DEFAULT_MAX_TENANTS = 100;
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final String portal;
+    private final int maxTenants;
+    private final Set<String> tenants = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, ConcurrentMap<String, EndpointMetrics>> endpoints = new ConcurrentHashMap<>();
+    private final Map<Upstream, UpstreamMetrics> upstreams = new EnumMap<>(Upstream.class);
+    private final ConcurrentMap<String, LatencyHistogram> queries = new ConcurrentHashMap<>();
+    private volatile Supplier<Map<Upstream, AdmissionStats>> admission = Collections::emptyMap;
+
+    ServiceMetrics(String portal, int maxTenants) {
+        this.portal = portal;
+        this.maxTenants = maxTenants;
+        for (Upstream upstream : Upstream.values()) {
+            upstreams.put(upstream, new UpstreamMetrics());
+        }
+    }
+
+    /**
+     * Creates the metrics of the given web application.
+     * @param context servlet context of the web application
+     * @return new metrics
+     */
+    static ServiceMetrics create(ServletContext context) {
+        String portal = context.getContextPath().isEmpty() ? "ROOT" : context.getContextPath().substring(1);
+        int maxTenants = ServletContexts.getInt(context, MAX_TENANTS_PARAM, DEFAULT_MAX_TENANTS);
+        return new ServiceMetrics(portal, maxTenants);
+    }
+
+    /**
+     * Returns the metrics of the given web application, creating them on first use.
+     * @param context servlet context of the web application
+     * @return shared metrics
+     */
+    public static ServiceMetrics get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE, ServiceMetrics::create);
+    }
+
+    public String getPortal() {
+        return portal;
+    }
+
+    /**
+     * Records a request to a service.
+     * @param endpoint name of the service
+     * @param tenant   domain of the existing tenant of the request, null if the tenant is not known
+     * @param status   HTTP status of the response
+     * @param nanos    time taken to respond in nanoseconds
+     */
+    public void recordRequest(String endpoint, String tenant, int status, long nanos) {
+        ConcurrentMap<String, EndpointMetrics> byTenant = endpoints.get(endpoint);
+        if (byTenant == null) {
+            byTenant = endpoints.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>());
+        }
+        String tenantLabel = tenantLabel(tenant);
+        EndpointMetrics metrics = byTenant.get(tenantLabel);
+        if (metrics == null) {
+            metrics = byTenant.computeIfAbsent(tenantLabel, t -> new EndpointMetrics());
+        }
+        metrics.latency.record(nanos);
+        metrics.statuses[Math.max(0, Math.min(STATUS_CLASSES.length - 1, status / 100 - 1))].increment();
+    }
+
+    /**
+     * Records a loopback call.
+     * @param upstream endpoint called
+     * @param nanos    time taken by the call in nanoseconds
+     * @param failed   true if the call failed or timed out
+     */
+    public void recordUpstream(Upstream upstream, long nanos, boolean failed) {
+        UpstreamMetrics metrics = upstreams.get(upstream);
+        metrics.latency.record(nanos);
+        if (failed) {
+            metrics.failures.increment();
+        }
+    }
+
+    /**
+     * Records a system application query.
+     * @param query name of the query
+     * @param nanos time taken by the query in nanoseconds
+     */
+    public void recordQuery(String query, long nanos) {
+        LatencyHistogram latency = queries.get(query);
+        if (latency == null) {
+            latency = queries.computeIfAbsent(query, q -> new LatencyHistogram());
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * Sets the source of the admission control state of the loopback calls.
+     * @param admission returns the state of the limiter of each upstream
+     */
+    public void setAdmission(Supplier<Map<Upstream, AdmissionStats>> admission) {
+        this.admission = admission;
+    }
+
+    private String tenantLabel(String tenant) {
+        if (tenant == null || tenant.isEmpty()) {
+            return OTHER_TENANTS;
+        }
+        if (tenants.contains(tenant)) {
+            return tenant;
+        }
+        if (tenants.size() >= maxTenants) {
+            return OTHER_TENANTS;
+        }
+        tenants.add(tenant);
+        return tenant;
+    }
+
+    @Override
+    public Map<String, TimerStats> getEndpoints() {
+        Map<String, TimerStats> stats = new TreeMap<>();
+        for (Map.Entry<String, ConcurrentMap<String, EndpointMetrics>> endpoint : endpoints.entrySet()) {
+            for (Map.Entry<String, EndpointMetrics> tenant : endpoint.getValue().entrySet()) {
+                EndpointMetrics metrics = tenant.getValue();
+                stats.put(endpoint.getKey() + "/" + tenant.getKey(),
+                        TimerStats.of(metrics.latency, metrics.statuses[STATUS_CLASSES.length - 1].sum()));
+            }
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<String, TimerStats> getUpstreams() {
+        Map<String, TimerStats> stats = new TreeMap<>();
+        for (Map.Entry<Upstream, UpstreamMetrics> upstream : upstreams.entrySet()) {
+            UpstreamMetrics metrics = upstream.getValue();
+            stats.put(upstream.getKey().getLabel(), TimerStats.of(metrics.latency, metrics.failures.sum()));
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<String, TimerStats> getQueries() {
+        Map<String, TimerStats> stats = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> query : queries.entrySet()) {
+            stats.put(query.getKey(), TimerStats.of(query.getValue(), 0));
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<String, AdmissionStats> getAdmission() {
+        Map<String, AdmissionStats> stats = new TreeMap<>();
+        for (Map.Entry<Upstream, AdmissionStats> upstream : admission.get().entrySet()) {
+            stats.put(upstream.getKey().getLabel(), upstream.getValue());
+        }
+        return stats;
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text exposition format.
+     * @param writer writer of the response
+     * @throws IOException if the metrics could not be written
+     */
+    public void writePrometheus(Writer writer) throws IOException {
+        StringBuilder out = new StringBuilder(4096);
+        String portalLabel = "portal=\"" + escape(portal) + "\"";
+
+        Map<String, LatencyHistogram> requestLatencies = new TreeMap<>();
+        Map<String, LongAdder> requestCounts = new TreeMap<>();
+        for (Map.Entry<String, ConcurrentMap<String, EndpointMetrics>> endpoint : endpoints.entrySet()) {
+            for (Map.Entry<String, EndpointMetrics> tenant : endpoint.getValue().entrySet()) {
+                String labels = portalLabel + ",endpoint=\"" + escape(endpoint.getKey()) + "\",tenant=\""
+                        + escape(tenant.getKey()) + "\"";
+                requestLatencies.put(labels, tenant.getValue().latency);
+                for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                    requestCounts.put(labels + ",status=\"" + STATUS_CLASSES[i] + "\"", tenant.getValue().statuses[i]);
+                }
+            }
+        }
+        writeHistograms(out, "apim_portal_request_duration_seconds", "Time taken by the portal services",
+                requestLatencies);
+        writeCounters(out, "apim_portal_requests_total", "Responses of the portal services by status class",
+                requestCounts);
+
+        Map<String, LatencyHistogram> upstreamLatencies = new TreeMap<>();
+        Map<String, LongAdder> upstreamFailures = new TreeMap<>();
+        for (Map.Entry<Upstream, UpstreamMetrics> upstream : upstreams.entrySet()) {
+            String labels = portalLabel + ",upstream=\"" + upstream.getKey().getLabel() + "\"";
+            upstreamLatencies.put(labels, upstream.getValue().latency);
+            upstreamFailures.put(labels, upstream.getValue().failures);
+        }
+        writeHistograms(out, "apim_portal_upstream_duration_seconds",
+                "Time taken by the loopback calls of the portal services", upstreamLatencies);
+        writeCounters(out, "apim_portal_upstream_failures_total",
+                "Loopback calls of the portal services that failed or timed out", upstreamFailures);
+        writeAdmission(out, portalLabel);
+
+        Map<String, LatencyHistogram> queryLatencies = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> query : queries.entrySet()) {
+            queryLatencies.put(portalLabel + ",query=\"" + escape(query.getKey()) + "\"", query.getValue());
+        }
+        writeHistograms(out, "apim_portal_dao_duration_seconds", "Time taken by the system application queries",
+                queryLatencies);
+        writer.write(out.toString());
+    }
+
+    private void writeAdmission(StringBuilder out, String portalLabel) {
+        Map<Upstream, AdmissionStats> stats = admission.get();
+        if (stats.isEmpty()) {
+            return;
+        }
+        Map<String, Number> inFlight = new TreeMap<>();
+        Map<String, Number> queued = new TreeMap<>();
+        Map<String, Number> circuitOpen = new TreeMap<>();
+        Map<String, Number> rejected = new TreeMap<>();
+        for (Map.Entry<Upstream, AdmissionStats> upstream : stats.entrySet()) {
+            String labels = portalLabel + ",upstream=\"" + upstream.getKey().getLabel() + "\"";
+            AdmissionStats state = upstream.getValue();
+            inFlight.put(labels, state.getInFlight());
+            queued.put(labels, state.getQueued());
+            circuitOpen.put(labels, "open".equals(state.getCircuitState()) ? 1 : 0);
+            rejected.put(labels + ",reason=\"queue_full\"", state.getRejectedQueueFull());
+            rejected.put(labels + ",reason=\"queue_timeout\"", state.getRejectedQueueTimeout());
+            rejected.put(labels + ",reason=\"circuit_open\"", state.getRejectedCircuitOpen());
+        }
+        writeSamples(out, "apim_portal_upstream_in_flight", "Loopback calls being sent", "gauge", inFlight);
+        writeSamples(out, "apim_portal_upstream_queued", "Loopback calls waiting for a free slot", "gauge", queued);
+        writeSamples(out, "apim_portal_upstream_circuit_open", "1 while the circuit of the upstream is open",
+                "gauge", circuitOpen);
+        writeSamples(out, "apim_portal_upstream_rejected_total",
+                "Loopback calls shed by the admission control by reason", "counter", rejected);
+    }
+
+    private static void writeHistograms(StringBuilder out, String name, String help,
+                                        Map<String, LatencyHistogram> histograms) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        for (Map.Entry<String, LatencyHistogram> histogram : histograms.entrySet()) {
+            String labels = histogram.getKey();
+            long[] counts = histogram.getValue().getCumulativeCounts();
+            for (int i = 0; i < LatencyHistogram.BOUNDS_SECONDS.length; i++) {
+                out.append(name).append("_bucket{").append(labels).append(",le=\"")
+                        .append(LatencyHistogram.BOUNDS_SECONDS[i]).append("\"} ").append(counts[i]).append('\n');
+            }
+            long count = counts[counts.length - 1];
+            out.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(count).append('\n');
+            out.append(name).append("_sum{").append(labels).append("} ")
+                    .append(histogram.getValue().getSumNanos() / 1e9).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ").append(count).append('\n');
+        }
+    }
+
+    private static void writeCounters(StringBuilder out, String name, String help, Map<String, LongAdder> counters) {
+        writeSamples(out, name, help, "counter", counters);
+    }
+
+    private static void writeSamples(StringBuilder out, String name, String help, String type,
+                                     Map<String, ? extends Number> samples) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (Map.Entry<String, ? extends Number> sample : samples.entrySet()) {
+            out.append(name).append('{').append(sample.getKey()).append("} ").append(sample.getValue().longValue())
+                    .append('\n');
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static final class EndpointMetrics {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder[] statuses = new LongAdder[STATUS_CLASSES.length];
+
+        private EndpointMetrics() {
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = new LongAdder();
+            }
+        }
+    }
+
+    private static final class UpstreamMetrics {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRegistration;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+
+/**
+ * Records the latency and the response status of the services it is mapped to in the {@link ServiceMetrics} of the
+ * web application. The endpoint of a request is the name of the servlet its path is mapped to, ex: refresh,
+ * login_callback. The tenant is the one the service resolved through the {@link TenantContext} of the request, it is
+ * recorded only if {@link Portal#isTenant} finds it on the server, which is checked once per tenant context. Async
+ * requests are recorded when they complete.
+ */
+public class ServiceMetricsFilter implements Filter {
+
+    private static final TenantContext.Key<Boolean> EXISTS = new TenantContext.Key<>("exists");
+
+    private ServiceMetrics metrics;
+    private Portal portal;
+    private Map<String, String> endpoints;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        metrics = ServiceMetrics.get(filterConfig.getServletContext());
+        portal = Portal.get(filterConfig.getServletContext());
+        Map<String, String> servletsByPath = new HashMap<>();
+        for (ServletRegistration registration : filterConfig.getServletContext().getServletRegistrations().values()) {
+            Collection<String> mappings = registration.getMappings();
+            for (String mapping : mappings) {
+                servletsByPath.put(mapping, registration.getName());
+            }
+        }
+        endpoints = servletsByPath;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String endpoint = endpoints.get(httpRequest.getServletPath());
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            String tenant = getTenant(httpRequest);
+            if (failed) {
+                metrics.recordRequest(endpoint, tenant, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                        System.nanoTime() - start);
+            } else if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(endpoint, tenant, start),
+                        request, response);
+            } else {
+                metrics.recordRequest(endpoint, tenant, httpResponse.getStatus(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    /**
+     * Returns the domain of the tenant the request was served for, or null if the service did not resolve a tenant or
+     * the tenant it resolved does not exist.
+     */
+    private String getTenant(HttpServletRequest request) {
+        TenantContext tenantContext = TenantContext.getResolved(request);
+        if (tenantContext == null) {
+            return null;
+        }
+        try {
+            return tenantContext.get(EXISTS, portal::isTenant) ? tenantContext.getTenantDomain() : null;
+        } catch (APIManagementException e) {
+            return null;
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final String endpoint;
+        private final String tenant;
+        private final long start;
+
+        private CompletionListener(String endpoint, String tenant, long start) {
+            this.endpoint = endpoint;
+            this.tenant = tenant;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            metrics.recordRequest(endpoint, tenant, ((HttpServletResponse) event.getSuppliedResponse()).getStatus(),
+                    System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Creates the {@link ServiceMetrics} of the web application on deployment and registers them in the platform MBean
+ * server as org.wso2.carbon.apimgt.ui:type=ServiceMetrics,portal=&lt;context&gt;. They are unregistered on
+ * undeployment.
+ */
+public class ServiceMetricsListener implements ServletContextListener {
+
+    private static final Log log = LogFactory.getLog(ServiceMetricsListener.class);
+
+    private ObjectName objectName;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        // the metrics may already have been created by a listener declared before this one
+        ServiceMetrics metrics = ServiceMetrics.get(context);
+        try {
+            ObjectName name = new ObjectName("org.wso2.carbon.apimgt.ui:type=ServiceMetrics,portal="
+                    + ObjectName.quote(metrics.getPortal()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+            objectName = name;
+        } catch (JMException e) {
+            log.warn("Could not register the service metrics of " + metrics.getPortal() + " in JMX", e);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        event.getServletContext().removeAttribute(ServiceMetrics.CONTEXT_ATTRIBUTE);
+        if (objectName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+            } catch (JMException e) {
+                log.warn("Could not unregister " + objectName, e);
+            }
+            objectName = null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link ServiceMetrics} of a portal.
+ */
+public interface ServiceMetricsMXBean {
+
+    /**
+     * @return latency of the services keyed by endpoint/tenant
+     */
+    Map<String, TimerStats> getEndpoints();
+
+    /**
+     * @return latency of the loopback calls keyed by upstream
+     */
+    Map<String, TimerStats> getUpstreams();
+
+    /**
+     * @return latency of the system application queries keyed by query
+     */
+    Map<String, TimerStats> getQueries();
+
+    /**
+     * @return state of the admission control of the loopback calls keyed by upstream
+     */
+    Map<String, AdmissionStats> getAdmission();
+}
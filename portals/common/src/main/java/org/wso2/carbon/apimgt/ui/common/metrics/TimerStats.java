@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Summary of a latency histogram, as exposed over JMX.
+ */
+public final class TimerStats {
+
+    private final long count;
+    private final long errors;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+
+    @ConstructorProperties({"count", "errors", "meanMillis", "p50Millis", "p95Millis", "p99Millis"})
+    public TimerStats(long count, long errors, double meanMillis, double p50Millis, double p95Millis,
+                      double p99Millis) {
+        this.count = count;
+        this.errors = errors;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+    }
+
+    static TimerStats of(LatencyHistogram histogram, long errors) {
+        long count = histogram.getCount();
+        double mean = count == 0 ? 0 : histogram.getSumNanos() / 1e6 / count;
+        return new TimerStats(count, errors, mean, histogram.getQuantileMillis(0.5),
+                histogram.getQuantileMillis(0.95), histogram.getQuantileMillis(0.99));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return number of 5xx responses of an endpoint, or failed calls of an upstream
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+}
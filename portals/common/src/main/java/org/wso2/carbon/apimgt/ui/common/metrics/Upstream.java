@@ -0,0 +1,43 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.metrics;
+
+/**
+ * Key manager and REST API endpoints called by the portal services over the loopback client.
+ */
+public enum Upstream {
+
+    TOKEN("token"),
+    DCR("dcr"),
+    USER_INFO("userinfo"),
+    INTROSPECT("introspect"),
+    SETTINGS("settings");
+
+    private final String label;
+
+    Upstream(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return name of the upstream in the metrics
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.portal;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+/**
+ * What differs between the publisher, the devportal and the admin portal for the services shared by them, ex: the
+ * system application, the tenant based context and the REST API paths of the token cookies.
+ * <p>
+ * Each web application implements it next to its Util class and sets the implementation class in the
+ * {@value #CONTEXT_PARAM} context parameter of its web.xml.
+ */
+public interface Portal {
+
+    String CONTEXT_PARAM = "portal";
+    String CONTEXT_ATTRIBUTE = Portal.class.getName();
+
+    /**
+     * Returns the portal of the given web application, creating it on first use.
+     * @param context servlet context of the web application
+     * @return portal of the web application
+     * @throws IllegalStateException if the {@value #CONTEXT_PARAM} context parameter is missing or invalid
+     */
+    static Portal get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE, servletContext -> {
+            String className = servletContext.getInitParameter(CONTEXT_PARAM);
+            if (className == null || className.trim().isEmpty()) {
+                throw new IllegalStateException("The " + CONTEXT_PARAM + " context parameter is not set");
+            }
+            try {
+                return (Portal) Class.forName(className.trim(), true, servletContext.getClassLoader())
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalStateException("Invalid portal implementation " + className, e);
+            }
+        });
+    }
+
+    /**
+     * @return name of the portal used in log and error messages, ex: publisher portal
+     */
+    String getDisplayName();
+
+    /**
+     * @return path of the settings.json of the portal in the web application
+     */
+    String getSettingsPath();
+
+    /**
+     * @return name of the system application the portal logs in with
+     */
+    String getClientAppName();
+
+    /**
+     * @return former names of the system application, looked up if the application is not found by its name
+     */
+    String[] getLegacyClientAppNames();
+
+    /**
+     * Returns the context of the portal for the tenant of the given request.
+     * @param request  current request
+     * @param settings settings of the portal
+     * @return tenant based context of the portal
+     * @throws APIManagementException if the tenant configuration could not be read
+     */
+    String getContext(HttpServletRequest request, Map settings) throws APIManagementException;
+
+    /**
+     * Returns the tenant the system application of the given request is registered in.
+     * @param request current request
+     * @return tenant domain of the service provider
+     * @throws APIManagementException if the tenant configuration could not be read
+     */
+    String getServiceProviderTenantDomain(HttpServletRequest request) throws APIManagementException;
+
+    /**
+     * Returns the tenant the system application of the given tenant is registered in.
+     * @param tenantContext context of the tenant
+     * @return tenant domain of the service provider
+     * @throws APIManagementException if the tenant configuration could not be read
+     */
+    String getServiceProviderTenantDomain(TenantContext tenantContext) throws APIManagementException;
+
+    /**
+     * Tells whether the given tenant exists on the server.
+     * @param tenantDomain tenant domain
+     * @return true if the tenant exists
+     * @throws APIManagementException if the tenants could not be read
+     */
+    default boolean isTenant(String tenantDomain) throws APIManagementException {
+        return APIUtil.getTenantIdFromTenantDomain(tenantDomain) != MultitenantConstants.INVALID_TENANT_ID;
+    }
+
+    /**
+     * Loads the tenant specific values read by the login of the given tenant (tenant based context, domain mapping)
+     * into its context, ahead of its first login.
+     * @param tenantContext context of the tenant
+     * @throws APIManagementException if the tenant configuration could not be read
+     */
+    default void warmUp(TenantContext tenantContext) throws APIManagementException {
+    }
+
+    /**
+     * @return paths of the settings REST APIs read by the login of the portal, relative to the loopback origin
+     */
+    List<String> getSettingsApiPaths();
+
+    /**
+     * @param host host configured in app.origin.host
+     * @return origin the key manager is called at from the server itself
+     */
+    String getLoopbackOrigin(String host);
+
+    /**
+     * @param token access token of the user
+     * @return value of the Authorization header of the user info request
+     */
+    String getUserInfoAuthorization(String token);
+
+    /**
+     * @return value of the Authorization header of the token introspection request
+     * @throws APIManagementException if the admin credentials could not be read
+     */
+    default String getAdminAuthorization() throws APIManagementException {
+        return "Basic " + APIUtil.getBase64EncodedAdminCredentials();
+    }
+
+    /**
+     * @return names of the cookies the second part of the access token is set in for the REST APIs used by the
+     * portal, by the path of the API. The cookie for the context of the portal is not included.
+     */
+    Map<String, String> getApiAccessTokenCookies();
+
+    /**
+     * Adapts the introspection response before it is sent to the portal.
+     * @param introspection parsed introspection response
+     * @return introspection to be sent, or null if nothing should be sent
+     */
+    Map introspected(Map introspection);
+}
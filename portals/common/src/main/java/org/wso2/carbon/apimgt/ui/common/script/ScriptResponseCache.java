@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.script;
+
+import com.google.gson.Gson;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.wso2.carbon.apimgt.ui.common.config.ConfigView;
+
+/**
+ * Cache of the generated configuration scripts (settings.js, userTheme.js, portalSettings.js).
+ * <p>
+ * Entries are keyed by portal, tenant and forwarded host. Each entry remembers the fingerprint of the inputs it was
+ * rendered from (configuration file version and the request derived values such as the tenant context), and is
+ * rendered again only when that fingerprint changes. Once full, the least recently used entry is evicted.
+ */
+public final class ScriptResponseCache {
+
+    private static final int MAX_ENTRIES = 1024;
+    private static final Gson GSON = new Gson();
+    private static final ScriptResponseCache INSTANCE = new ScriptResponseCache();
+
+    private final Map<String, CachedScript> scripts = new LinkedHashMap<String, CachedScript>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedScript> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private ScriptResponseCache() {
+    }
+
+    public static ScriptResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached script for the given key, rendering it again if the inputs have changed.
+     * @param key         cache key, ex: portal + tenant domain + forwarded host
+     * @param fingerprint value identifying the inputs of the script, see {@link #fingerprint(Map, String...)}
+     * @param renderer    renders the script content
+     * @return script ready to be sent
+     */
+    public CachedScript get(String key, String fingerprint, Supplier<String> renderer) {
+        if (fingerprint == null) {
+            return new CachedScript(null, renderer.get());
+        }
+        CachedScript script;
+        synchronized (scripts) {
+            script = scripts.get(key);
+        }
+        if (script != null && fingerprint.equals(script.getFingerprint())) {
+            return script;
+        }
+        // rendered outside of the lock, concurrent renders of the same script produce the same content
+        script = new CachedScript(fingerprint, renderer.get());
+        synchronized (scripts) {
+            scripts.put(key, script);
+        }
+        return script;
+    }
+
+    /**
+     * Builds the fingerprint of a script which is rendered from the given configuration and request derived values.
+     * @param config configuration map returned by {@code Util.readJsonFile}
+     * @param inputs other values the script content depends on
+     * @return fingerprint, or null if the configuration is not backed by the configuration store
+     */
+    public static String fingerprint(Map<String, Object> config, String... inputs) {
+        if (!(config instanceof ConfigView)) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(64);
+        builder.append(((ConfigView) config).getSnapshot().getVersion());
+        for (String input : inputs) {
+            builder.append('\n').append(input);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Serializes the given configuration as a javascript constant.
+     * @param name   name of the constant, ex: Settings
+     * @param config configuration to be serialized
+     * @return script declaring the constant
+     */
+    public static String toScript(String name, Map<String, Object> config) {
+        return "const " + name + " = " + GSON.toJson(config) + ";\n";
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.services;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.ui.common.auth.IntrospectionCache;
+import org.wso2.carbon.apimgt.ui.common.auth.IntrospectionResult;
+import org.wso2.carbon.apimgt.ui.common.auth.TokenCookies;
+import org.wso2.carbon.apimgt.ui.common.auth.TokenIntrospector;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+import org.wso2.carbon.apimgt.ui.common.http.LoopbackHttpClient;
+
+/**
+ * Introspects the access token in the token cookies of the request, formerly services/login/introspect.jsp of each
+ * portal.
+ */
+public class IntrospectServlet extends PortalServlet {
+
+    private static final Log log = LogFactory.getLog(IntrospectServlet.class);
+
+    private static final JsonPath ORIGIN_HOST = JsonPath.compile("app.origin.host");
+    private static final String USER_INFO_URL_SUFFIX = "/oauth2/userinfo";
+    private static final String INTROSPECT_URL_SUFFIX = "/oauth2/introspect";
+
+    @Override
+    protected ServiceResponse handle(HttpServletRequest request) throws ServletException, IOException {
+        Map<String, Object> settings = readSettings();
+        String loopbackOrigin = getPortal().getLoopbackOrigin(ORIGIN_HOST.getString(settings));
+        String token = TokenCookies.join(request.getCookies(), TokenCookies.ACCESS_TOKEN_P1,
+                TokenCookies.ACCESS_TOKEN_P2);
+        IntrospectionCache introspectionCache = IntrospectionCache.get(getServletContext());
+        IntrospectionResult introspectResult = introspectionCache.get(token);
+        if (introspectResult == null) {
+            String adminAuthorization;
+            try {
+                adminAuthorization = getPortal().getAdminAuthorization();
+            } catch (APIManagementException e) {
+                throw new ServletException("Error while reading the admin credentials", e);
+            }
+            // user info and introspection do not depend on each other, hence both calls are sent at the same time
+            introspectResult = TokenIntrospector.introspect(LoopbackHttpClient.get(getServletContext()),
+                    loopbackOrigin + USER_INFO_URL_SUFFIX, getPortal().getUserInfoAuthorization(token),
+                    loopbackOrigin + INTROSPECT_URL_SUFFIX, adminAuthorization, token);
+            introspectionCache.put(token, introspectResult);
+        }
+        log.debug("Introspection result json: " + introspectResult.getBody());
+
+        if (introspectResult.isSuccessful()) {
+            Map introspect = getPortal().introspected(GSON.fromJson(introspectResult.getBody(), Map.class));
+            return response -> {
+                response.setContentType("application/json");
+                if (introspect != null) {
+                    response.getWriter().println(GSON.toJson(introspect));
+                }
+            };
+        }
+        if (introspectResult.getStatusCode() == IntrospectionResult.TIMED_OUT) {
+            String message = introspectResult.getBody();
+            log.warn(message);
+            return response -> ServiceErrors.sendTimeout(response, message);
+        }
+        if (introspectResult.getStatusCode() == IntrospectionResult.REJECTED) {
+            long retryAfter = introspectResult.getRetryAfterSeconds();
+            log.debug(introspectResult.getBody());
+            return response -> ServiceErrors.sendUnavailable(response, retryAfter,
+                    "Key manager is busy, please retry");
+        }
+        log.warn("Something went wrong while introspecting the token");
+        log.error(introspectResult.getBody());
+        return response -> {
+            response.setStatus(500);
+            response.setContentType("text/plain");
+            response.getWriter().println("Something went wrong while introspecting the token!!");
+        };
+    }
+}
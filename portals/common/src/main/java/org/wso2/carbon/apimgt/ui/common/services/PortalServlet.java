@@ -0,0 +1,240 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.services;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.http.UpstreamRejectedException;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+
+/**
+ * Base of the services shared by the portals. The portal specific parts are taken from the {@link Portal} of the web
+ * application, hence the same servlet serves the publisher, the devportal and the admin portal.
+ * <p>
+ * Requests are handled as async requests on the {@link ServiceExecutor} of the web application, so the container
+ * thread is released while the service waits for the key manager. A service that does not complete within the
+ * configured timeout is answered with a 504 json error, and one whose key manager call was shed by the admission
+ * control of the loopback client with a 503 and a Retry-After header. When async is not supported on the request
+ * (a filter in the chain is not async capable), the service is handled on the container thread as before.
+ */
+public abstract class PortalServlet extends HttpServlet {
+
+    protected static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final Log log = LogFactory.getLog(PortalServlet.class);
+
+    private transient Portal portal;
+    private transient ServiceExecutor serviceExecutor;
+
+    @Override
+    public void init() throws ServletException {
+        try {
+            portal = Portal.get(getServletContext());
+        } catch (IllegalStateException e) {
+            throw new ServletException(e.getMessage(), e);
+        }
+        serviceExecutor = ServiceExecutor.get(getServletContext());
+    }
+
+    protected Portal getPortal() {
+        return portal;
+    }
+
+    /**
+     * Reads the settings.json of the portal the same way Util.readJsonFile does.
+     */
+    protected Map<String, Object> readSettings() throws FileNotFoundException {
+        return ConfigStore.getInstance().get(getServletContext().getRealPath(portal.getSettingsPath())).view();
+    }
+
+    /**
+     * Handles the request. Everything needed from the request has to be read here, the response is only written by
+     * the returned {@link ServiceResponse}, which is skipped if the service timed out in the meantime.
+     * @param request request of the service
+     * @return writer of the response
+     */
+    protected abstract ServiceResponse handle(HttpServletRequest request) throws ServletException, IOException;
+
+    /**
+     * Sends the given error as json, the way the service JSPs report errors.
+     */
+    protected static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        ServiceErrors.send(response, status, message);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!request.isAsyncSupported()) {
+            handle(request).send(response);
+            return;
+        }
+        // the response is passed on, so response wrappers of the filters keep applying to the async response
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(serviceExecutor.getTimeout().toMillis());
+        AsyncService service = new AsyncService(asyncContext);
+        asyncContext.addListener(service);
+        try {
+            service.task = serviceExecutor.submit(() -> service.run(request));
+        } catch (RejectedExecutionException e) {
+            log.warn("No thread available to handle " + request.getRequestURI());
+            service.complete(res -> sendError(res, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Service is busy, please retry"));
+        }
+    }
+
+    /**
+     * The service JSPs this servlet replaces responded to both GET and POST.
+     */
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        doGet(request, response);
+    }
+
+    /**
+     * Writes the response of a service.
+     */
+    @FunctionalInterface
+    protected interface ServiceResponse {
+
+        void send(HttpServletResponse response) throws IOException;
+    }
+
+    /**
+     * An async request being handled on the service executor. The response is written either by the task or by the
+     * timeout, whichever comes first, and never by both.
+     */
+    private final class AsyncService implements AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private volatile Future<?> task;
+        private boolean completed;
+
+        private AsyncService(AsyncContext asyncContext) {
+            this.asyncContext = asyncContext;
+        }
+
+        private void run(HttpServletRequest request) {
+            ServiceResponse serviceResponse;
+            try {
+                serviceResponse = handle(request);
+            } catch (Exception e) {
+                if (isCompleted()) {
+                    log.debug("Service completed before the error", e);
+                    return;
+                }
+                UpstreamRejectedException rejected = ServiceErrors.findRejection(e);
+                if (rejected != null) {
+                    // shed calls are not logged as warnings, the admission control logs when a circuit opens
+                    if (log.isDebugEnabled()) {
+                        log.debug(rejected.getMessage() + " while handling " + getServletName());
+                    }
+                    serviceResponse = res -> ServiceErrors.sendUnavailable(res, rejected.getRetryAfterSeconds(),
+                            "Key manager is busy, please retry");
+                } else if (ServiceErrors.isTimeout(e)) {
+                    log.warn("Key manager call of " + getServletName() + " timed out", e);
+                    serviceResponse = res -> ServiceErrors.sendTimeout(res, "Key manager did not respond in time");
+                } else {
+                    log.error("Error while handling " + getServletName(), e);
+                    serviceResponse = res -> sendError(res, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                            "Something went wrong while handling the request");
+                }
+            }
+            complete(serviceResponse);
+        }
+
+        private synchronized boolean isCompleted() {
+            return completed;
+        }
+
+        private synchronized void complete(ServiceResponse serviceResponse) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            try {
+                serviceResponse.send((HttpServletResponse) asyncContext.getResponse());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Error while writing the response of " + getServletName(), e);
+            } finally {
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (!isCompleted()) {
+                log.warn(getServletName() + " did not complete within " + serviceExecutor.getTimeout().toMillis()
+                        + "ms");
+            }
+            complete(res -> ServiceErrors.sendTimeout(res, "Request timed out"));
+            // the task is cancelled only after the timeout is answered, so it can not answer the request itself
+            cancelTask();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            synchronized (this) {
+                if (!completed) {
+                    completed = true;
+                    asyncContext.complete();
+                }
+            }
+            cancelTask();
+        }
+
+        /**
+         * Keeps the task from starting if it is still queued. A running task is not interrupted: it would abort its
+         * loopback call half way through the exchange. It runs to the end of the call, bounded by the request timeout
+         * of the loopback client, and its response is then skipped.
+         */
+        private void cancelTask() {
+            Future<?> running = task;
+            if (running != null) {
+                running.cancel(false);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.services;
+
+import java.io.IOException;
+import javax.servlet.GenericServlet;
+import javax.servlet.Servlet;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Serves a service JSP through the class JspC generated for it at build time, so the first request after a
+ * deployment does not wait for Jasper. When the class is not in the web application (the build was run with
+ * -Djspc.skip=true) or cannot be linked against the Jasper of the server, the JSP is forwarded to and compiled by
+ * the server as usual. web.xml maps a service to it with the following init parameters,
+ * <ul>
+ *     <li>jspClass - class generated by JspC for the JSP</li>
+ *     <li>jspFile - path of the JSP in the web application</li>
+ * </ul>
+ */
+public class PrecompiledJspServlet extends GenericServlet {
+
+    static final String JSP_CLASS_PARAM = "jspClass";
+    static final String JSP_FILE_PARAM = "jspFile";
+
+    private static final Log log = LogFactory.getLog(PrecompiledJspServlet.class);
+
+    private transient Servlet precompiled;
+    private String jspFile;
+
+    @Override
+    public void init() throws ServletException {
+        jspFile = getInitParameter(JSP_FILE_PARAM);
+        String jspClass = getInitParameter(JSP_CLASS_PARAM);
+        if (jspFile == null || jspClass == null) {
+            throw new ServletException(JSP_CLASS_PARAM + " and " + JSP_FILE_PARAM + " init parameters of "
+                    + getServletName() + " are not set");
+        }
+        Servlet servlet;
+        try {
+            servlet = (Servlet) Class.forName(jspClass, true, getServletContext().getClassLoader())
+                    .getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            log.info(jspFile + " is not precompiled, it is compiled by the server");
+            return;
+        } catch (LinkageError e) {
+            log.warn("Precompiled " + jspFile + " does not match the Jasper of the server, it is compiled by the "
+                    + "server", e);
+            return;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new ServletException("Invalid precompiled JSP " + jspClass, e);
+        }
+        servlet.init(getServletConfig());
+        precompiled = servlet;
+    }
+
+    @Override
+    public void service(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+        if (precompiled != null) {
+            precompiled.service(request, response);
+        } else {
+            getServletContext().getRequestDispatcher(jspFile).forward(request, response);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (precompiled != null) {
+            precompiled.destroy();
+        }
+    }
+}
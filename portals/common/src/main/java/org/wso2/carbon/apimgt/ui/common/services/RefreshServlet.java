@@ -0,0 +1,242 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.services;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO;
+import org.wso2.carbon.apimgt.ui.common.auth.IntrospectionCache;
+import org.wso2.carbon.apimgt.ui.common.auth.SystemApplicationCache;
+import org.wso2.carbon.apimgt.ui.common.auth.TokenCookies;
+import org.wso2.carbon.apimgt.ui.common.auth.TokenRefreshCoalescer;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+import org.wso2.carbon.apimgt.ui.common.http.LoopbackHttpClient;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+
+/**
+ * Refreshes the tokens of the user with the refresh token split between the refresh_token parameter and the
+ * refresh token cookie, and sets the new tokens in the token cookies. Formerly services/refresh/refresh.jsp of each
+ * portal.
+ * <p>
+ * Refreshes of the same refresh token from several tabs are coalesced by {@link TokenRefreshCoalescer}, each of them
+ * gets the cookies of the shared token response set on its own response.
+ */
+public class RefreshServlet extends PortalServlet {
+
+    private static final Log log = LogFactory.getLog(RefreshServlet.class);
+
+    private static final JsonPath CONTEXT = JsonPath.compile("app.context");
+    private static final JsonPath ORIGIN_HOST = JsonPath.compile("app.origin.host");
+    private static final String TOKEN_URL_SUFFIX = "/oauth2/token";
+
+    private int refreshTokenMaxAge;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        refreshTokenMaxAge = TokenCookies.getRefreshTokenMaxAge(getServletContext());
+    }
+
+    @Override
+    protected ServiceResponse handle(HttpServletRequest request) throws ServletException, IOException {
+        Portal portal = getPortal();
+        Map<String, Object> settings = readSettings();
+        String context;
+        String tenantDomain;
+        try {
+            context = portal.getContext(request, settings);
+            tenantDomain = portal.getServiceProviderTenantDomain(request);
+        } catch (APIManagementException e) {
+            throw new ServletException("Error while resolving the tenant of the request", e);
+        }
+
+        Cookie[] cookies = request.getCookies();
+        String cookieToken = TokenCookies.value(cookies, TokenCookies.REFRESH_TOKEN_P2);
+        String currentAccessToken = TokenCookies.join(cookies, TokenCookies.ACCESS_TOKEN_P1,
+                TokenCookies.ACCESS_TOKEN_P2);
+        String tokenParam = request.getParameter("refresh_token");
+        if (cookieToken.isEmpty() || tokenParam == null) {
+            log.error("Token request with no AM_REF_TOKEN_DEFAULT_P2 HTTP only cookie or no tokenParam received!!");
+            return response -> sendError(response, 400, "Cookie and/or param token part is missing!");
+        }
+
+        SystemApplicationDTO systemApplicationDTO;
+        try {
+            systemApplicationDTO = SystemApplicationCache.get(getServletContext()).getClientCredentials(
+                    portal.getClientAppName(), tenantDomain, portal.getLegacyClientAppNames());
+        } catch (APIManagementException e) {
+            throw new ServletException("Error while reading the system application of the portal", e);
+        }
+        if (systemApplicationDTO == null) {
+            log.error("Oauth application details not found for '" + portal.getDisplayName() + "'");
+            return response -> sendError(response, 401,
+                    "Oauth application details not found for '" + portal.getDisplayName() + "'");
+        }
+
+        HashMap<String, Object> tokenRequestData = new HashMap<>();
+        tokenRequestData.put("grant_type", "refresh_token");
+        tokenRequestData.put("refresh_token", tokenParam + cookieToken);
+        String concatenatedCredential = systemApplicationDTO.getConsumerKey() + ":"
+                + systemApplicationDTO.getConsumerSecret();
+        String base64encoded = Base64.getEncoder().encodeToString(
+                concatenatedCredential.getBytes(StandardCharsets.UTF_8));
+        String tokenEndpoint = portal.getLoopbackOrigin(ORIGIN_HOST.getString(settings)) + TOKEN_URL_SUFFIX;
+
+        LoopbackHttpClient loopbackClient = LoopbackHttpClient.get(getServletContext());
+        HttpRequest post = loopbackClient.newRequest(tokenEndpoint)
+                .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(tokenRequestData)))
+                .header("Authorization", "Basic " + base64encoded)
+                .build();
+        // tabs refreshing with the same refresh token share a single exchange at the token endpoint
+        TokenRefreshCoalescer.Result result;
+        try {
+            result = TokenRefreshCoalescer.get(getServletContext()).refresh(tenantDomain, tokenParam + cookieToken,
+                    () -> {
+                        HttpResponse<String> tokenResult = loopbackClient.send(Upstream.TOKEN, post,
+                                HttpResponse.BodyHandlers.ofString());
+                        return new TokenRefreshCoalescer.Result(tokenResult.statusCode(), tokenResult.body());
+                    }, loopbackClient.getRequestTimeout().toMillis());
+        } catch (ExecutionException e) {
+            if (ServiceErrors.isTimeout(e)) {
+                log.warn("Token endpoint did not respond within " + loopbackClient.getRequestTimeout().toMillis()
+                        + "ms");
+                return response -> ServiceErrors.sendTimeout(response, "Token refresh timed out");
+            }
+            throw new ServletException("Error while refreshing the token", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Token refresh of a concurrent request did not complete within "
+                    + loopbackClient.getRequestTimeout().toMillis() + "ms");
+            return response -> ServiceErrors.sendTimeout(response, "Token refresh timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while refreshing the token", e);
+        }
+        if (!result.isSuccessful()) {
+            log.warn("Something went wrong while refreshing the token");
+            log.error(result.getBody());
+            return response -> sendError(response, 500, "Something went wrong while refreshing the token!!");
+        }
+
+        // the access token is being replaced, hence drop its cached introspection result
+        IntrospectionCache.get(getServletContext()).invalidate(currentAccessToken);
+        TokenResponse tokenResponse = TokenResponse.parse(result.getBody());
+        if (tokenResponse == null) {
+            return response -> response.setContentType("application/json");
+        }
+        return response -> {
+            response.setContentType("application/json");
+            setTokenCookies(response, tokenResponse, context);
+            response.getWriter().println("{}");
+        };
+    }
+
+    private void setTokenCookies(HttpServletResponse response, TokenResponse tokenResponse, String context) {
+        String accessTokenPart2 = TokenCookies.secondPart(tokenResponse.accessToken);
+        int expiresIn = tokenResponse.expiresIn;
+        // Setting access token part 1 as secured HTTP only cookie, Can't restrict the path to the REST API
+        // because partial HTTP only cookie is required for get the user information from access token,
+        // hence setting the HTTP only access token path to App context
+        addCookie(response, TokenCookies.ACCESS_TOKEN_P2, accessTokenPart2, context + "/", true, expiresIn);
+        for (Map.Entry<String, String> apiCookie : getPortal().getApiAccessTokenCookies().entrySet()) {
+            addCookie(response, apiCookie.getValue(), accessTokenPart2, apiCookie.getKey(), true, expiresIn);
+        }
+        addCookie(response, TokenCookies.REFRESH_TOKEN_P2, TokenCookies.secondPart(tokenResponse.refreshToken),
+                context + "/", true, refreshTokenMaxAge);
+        addCookie(response, TokenCookies.ACCESS_TOKEN_P1, TokenCookies.firstPart(tokenResponse.accessToken),
+                context + "/", false, expiresIn);
+        addCookie(response, TokenCookies.REFRESH_TOKEN_P1, TokenCookies.firstPart(tokenResponse.refreshToken),
+                context + "/", false, refreshTokenMaxAge);
+        addCookie(response, TokenCookies.ID_TOKEN_P2, TokenCookies.secondPart(tokenResponse.idToken),
+                context + "/services/logout", false, expiresIn);
+        addCookie(response, TokenCookies.ID_TOKEN_P1, TokenCookies.firstPart(tokenResponse.idToken),
+                context + "/services/logout", false, expiresIn);
+    }
+
+    private static void addCookie(HttpServletResponse response, String name, String value, String path,
+                                  boolean httpOnly, int maxAge) {
+        Cookie cookie = new Cookie(name, value);
+        cookie.setPath(path);
+        cookie.setHttpOnly(httpOnly);
+        cookie.setSecure(true);
+        cookie.setMaxAge(maxAge);
+        response.addCookie(cookie);
+    }
+
+    /**
+     * Tokens of a token endpoint response, read before any cookie is written so that a response missing one of them
+     * is answered without cookies instead of failing half way through the response.
+     */
+    private static final class TokenResponse {
+
+        private final String accessToken;
+        private final String refreshToken;
+        private final String idToken;
+        private final int expiresIn;
+
+        private TokenResponse(String accessToken, String refreshToken, String idToken, int expiresIn) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.idToken = idToken;
+            this.expiresIn = expiresIn;
+        }
+
+        /**
+         * @param body body of the token endpoint response
+         * @return tokens of the response, or null if the response is not a token response with all of them
+         */
+        private static TokenResponse parse(String body) {
+            Map<?, ?> tokenResponse;
+            try {
+                tokenResponse = GSON.fromJson(body, Map.class);
+            } catch (RuntimeException e) {
+                log.error("Error while generating token", e);
+                return null;
+            }
+            if (tokenResponse == null || !(tokenResponse.get("access_token") instanceof String)) {
+                log.error("Could not retrieve access token from the token response");
+                return null;
+            }
+            Object refreshToken = tokenResponse.get("refresh_token");
+            Object idToken = tokenResponse.get("id_token");
+            Object expiresIn = tokenResponse.get("expires_in");
+            if (!(refreshToken instanceof String) || !(idToken instanceof String) || !(expiresIn instanceof Number)) {
+                log.error("Token response is missing the refresh_token, id_token or expires_in of the new tokens");
+                return null;
+            }
+            return new TokenResponse((String) tokenResponse.get("access_token"), (String) refreshToken,
+                    (String) idToken, ((Number) expiresIn).intValue());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.services;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.HashMap;
+import javax.servlet.http.HttpServletResponse;
+
+import org.wso2.carbon.apimgt.ui.common.http.UpstreamRejectedException;
+
+/**
+ * Json error responses of the portal services.
+ */
+public final class ServiceErrors {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private ServiceErrors() {
+    }
+
+    /**
+     * Sends the given error as json, the way the service JSPs report errors.
+     * @param response response of the service
+     * @param status   HTTP status
+     * @param message  error message
+     * @throws IOException if the response could not be written
+     */
+    public static void send(HttpServletResponse response, int status, String message) throws IOException {
+        HashMap<String, Object> res = new HashMap<>();
+        res.put("error", true);
+        res.put("message", message);
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getWriter().println(GSON.toJson(res));
+    }
+
+    /**
+     * Sends a 504 for a key manager call that did not complete in time.
+     * @param response response of the service
+     * @param message  error message
+     * @throws IOException if the response could not be written
+     */
+    public static void sendTimeout(HttpServletResponse response, String message) throws IOException {
+        send(response, HttpServletResponse.SC_GATEWAY_TIMEOUT, message);
+    }
+
+    /**
+     * Sends a 503 for a key manager call shed by the admission control of the loopback client.
+     * @param response          response of the service
+     * @param retryAfterSeconds value of the Retry-After header
+     * @param message           error message
+     * @throws IOException if the response could not be written
+     */
+    public static void sendUnavailable(HttpServletResponse response, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        send(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, message);
+    }
+
+    /**
+     * Returns the shed loopback call the given error was caused by.
+     * @param e error
+     * @return the error, or one of its causes, if it is an {@link UpstreamRejectedException}, null otherwise
+     */
+    public static UpstreamRejectedException findRejection(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamRejectedException) {
+                return (UpstreamRejectedException) cause;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether the given error, or one of its causes, is a timed out loopback call.
+     * @param e error
+     * @return true if the error was caused by a {@link HttpTimeoutException}
+     */
+    public static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
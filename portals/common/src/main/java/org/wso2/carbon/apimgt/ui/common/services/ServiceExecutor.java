@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.services;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.ServletContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Runs the portal services off the container request threads. The services spend most of their time waiting for the
+ * key manager (token, DCR, user info, introspect), hence they are run as async requests on this executor and a slow
+ * key manager no longer drains the request thread pool that also serves the static assets of the SPA.
+ * <p>
+ * Virtual threads are used when the JDK supports them, otherwise a bounded pool of platform threads. The following
+ * context parameters can be used to tune it,
+ * <ul>
+ *     <li>services.timeout - time in milliseconds a service may take before it is answered with a 504</li>
+ *     <li>services.virtualThreads - false to use platform threads even when virtual threads are supported</li>
+ *     <li>services.maxThreads - maximum number of platform threads</li>
+ * </ul>
+ */
+public final class ServiceExecutor implements AutoCloseable {
+
+    public static final String CONTEXT_ATTRIBUTE = ServiceExecutor.class.getName();
+
+    static final String TIMEOUT_PARAM = "services.timeout";
+    static final String VIRTUAL_THREADS_PARAM = "services.virtualThreads";
+    static final String MAX_THREADS_PARAM = "services.maxThreads";
+
+    private static final Log log = LogFactory.getLog(ServiceExecutor.class);
+    private static final long DEFAULT_TIMEOUT_MS = 35000;
+    private static final int DEFAULT_MAX_THREADS = 200;
+
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final boolean virtual;
+
+    ServiceExecutor(ExecutorService executor, Duration timeout, boolean virtual) {
+        this.executor = executor;
+        this.timeout = timeout;
+        this.virtual = virtual;
+    }
+
+    /**
+     * Creates an executor configured from the context parameters of the given web application.
+     * @param context servlet context of the web application
+     * @return new service executor
+     */
+    static ServiceExecutor create(ServletContext context) {
+        Duration timeout = Duration.ofMillis(ServletContexts.getLong(context, TIMEOUT_PARAM, DEFAULT_TIMEOUT_MS));
+        String name = context.getContextPath().isEmpty() ? "ROOT" : context.getContextPath().substring(1);
+        if (ServletContexts.getBoolean(context, VIRTUAL_THREADS_PARAM, true)) {
+            ExecutorService virtualExecutor = newVirtualThreadExecutor();
+            if (virtualExecutor != null) {
+                log.debug("Portal services of " + name + " run on virtual threads");
+                return new ServiceExecutor(virtualExecutor, timeout, true);
+            }
+        }
+        int maxThreads = ServletContexts.getInt(context, MAX_THREADS_PARAM, DEFAULT_MAX_THREADS);
+        ThreadPoolExecutor platformExecutor = new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new DaemonThreadFactory(name));
+        return new ServiceExecutor(platformExecutor, timeout, false);
+    }
+
+    /**
+     * Returns the service executor of the given web application. If the listener is not registered, an executor is
+     * created on first use and kept for the lifetime of the web application.
+     * @param context servlet context of the web application
+     * @return shared service executor
+     */
+    public static ServiceExecutor get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE, ServiceExecutor::create);
+    }
+
+    /**
+     * Submits the given service task.
+     * @param task task that handles the request
+     * @return future of the task
+     * @throws java.util.concurrent.RejectedExecutionException if all platform threads are busy or the executor is
+     *                                                         closed
+     */
+    public Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor is available from JDK 21 onwards, while the portals are built for
+     * JDK 11, hence it is looked up reflectively.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Virtual threads are not available, the portal services run on platform threads", e);
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private DaemonThreadFactory(String name) {
+            this.prefix = name + "-services-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
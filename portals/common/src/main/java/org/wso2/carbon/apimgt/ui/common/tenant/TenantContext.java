@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.tenant;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.servlet.http.HttpServletRequest;
+
+import org.wso2.carbon.apimgt.api.APIManagementException;
+
+/**
+ * Tenant specific values (domain mapping, tenant based context, service provider flags etc.) of the tenant a request
+ * belongs to. The values are loaded on first use and shared by the requests of the tenant through
+ * {@link TenantContextCache} until the entry expires. A request keeps the context it resolved first, so all the
+ * lookups of a request see the same values.
+ */
+public final class TenantContext {
+
+    static final String REQUEST_ATTRIBUTE = TenantContext.class.getName();
+
+    private static final String SUPER_TENANT_DOMAIN = "carbon.super";
+
+    private final String tenantDomain;
+    private final long expiresAt;
+    private final ConcurrentHashMap<Key<?>, Optional<?>> values = new ConcurrentHashMap<>();
+
+    TenantContext(String tenantDomain, long expiresAt) {
+        this.tenantDomain = tenantDomain;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns the tenant context of the given request, resolving it on first use.
+     * @param request        current request
+     * @param tenantResolver resolves the tenant domain of the request
+     * @return tenant context of the request
+     */
+    public static TenantContext get(HttpServletRequest request, Function<HttpServletRequest, String> tenantResolver) {
+        TenantContext tenantContext = (TenantContext) request.getAttribute(REQUEST_ATTRIBUTE);
+        if (tenantContext == null) {
+            tenantContext = TenantContextCache.get(request.getServletContext()).get(tenantResolver.apply(request));
+            request.setAttribute(REQUEST_ATTRIBUTE, tenantContext);
+        }
+        return tenantContext;
+    }
+
+    /**
+     * Returns the tenant domain the given request is sent for, that is the tenant parameter, else the X-WSO2-Tenant
+     * header set for the custom URL of a tenant, else the super tenant. Util.getTenantDomain of the portals.
+     * @param request current request
+     * @return tenant domain of the request
+     */
+    public static String resolveTenantDomain(HttpServletRequest request) {
+        String tenantDomain = request.getParameter("tenant");
+        if (tenantDomain == null) {
+            tenantDomain = request.getHeader("X-WSO2-Tenant");
+            if (tenantDomain == null) {
+                tenantDomain = SUPER_TENANT_DOMAIN;
+            }
+        }
+        return tenantDomain;
+    }
+
+    /**
+     * Returns the tenant context the given request has resolved, without resolving it.
+     * @param request current request
+     * @return tenant context of the request, or null if the request has not resolved its tenant
+     */
+    public static TenantContext getResolved(HttpServletRequest request) {
+        return (TenantContext) request.getAttribute(REQUEST_ATTRIBUTE);
+    }
+
+    public String getTenantDomain() {
+        return tenantDomain;
+    }
+
+    /**
+     * Returns the value of the given key, loading it if it is not loaded yet. A null value is cached as well.
+     * @param key    key of the value
+     * @param loader loads the value of the tenant
+     * @param <T>    type of the value
+     * @return value of the key
+     * @throws APIManagementException if the value could not be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key, Loader<T> loader) throws APIManagementException {
+        Optional<?> value = values.get(key);
+        if (value == null) {
+            value = Optional.ofNullable(loader.load(tenantDomain));
+            Optional<?> existing = values.putIfAbsent(key, value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        return (T) value.orElse(null);
+    }
+
+    boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+
+    /**
+     * Key of a tenant specific value.
+     * @param <T> type of the value
+     */
+    public static final class Key<T> {
+
+        private final String name;
+
+        public Key(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Loads a tenant specific value.
+     * @param <T> type of the value
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        T load(String tenantDomain) throws APIManagementException;
+    }
+}
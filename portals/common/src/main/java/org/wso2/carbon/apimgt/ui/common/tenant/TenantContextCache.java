@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.tenant;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.ServletContext;
+
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+
+/**
+ * Keeps the {@link TenantContext} of recently seen tenants, so the tenant specific values read from the registry
+ * (domain mappings, tenant based context, per tenant service provider flag) are not looked up again on every request.
+ * <p>
+ * A context is dropped after the configured time to live, so changes to the tenant configuration are picked up
+ * without a restart, and the least recently used context is dropped when the cache is full. The following context
+ * parameters can be used to tune it,
+ * <ul>
+ *     <li>tenantContextCache.ttl - time to live of a tenant context in seconds, 0 disables the cache</li>
+ *     <li>tenantContextCache.maxEntries - maximum number of tenants kept</li>
+ * </ul>
+ */
+public final class TenantContextCache {
+
+    public static final String CONTEXT_ATTRIBUTE = TenantContextCache.class.getName();
+
+    static final String TTL_PARAM = "tenantContextCache.ttl";
+    static final String MAX_ENTRIES_PARAM = "tenantContextCache.maxEntries";
+
+    private static final long DEFAULT_TTL_SECONDS = 60;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final long ttlMillis;
+    private final Map<String, TenantContext> contexts;
+
+    TenantContextCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.contexts = new LinkedHashMap<String, TenantContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TenantContext> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the tenant context cache of the given web application, creating it on first use.
+     * @param context servlet context of the web application
+     * @return tenant context cache
+     */
+    public static TenantContextCache get(ServletContext context) {
+        return ServletContexts.getOrCreate(context, CONTEXT_ATTRIBUTE, TenantContextCache::create);
+    }
+
+    private static TenantContextCache create(ServletContext context) {
+        long ttl = ServletContexts.getLong(context, TTL_PARAM, DEFAULT_TTL_SECONDS);
+        int maxEntries = ServletContexts.getInt(context, MAX_ENTRIES_PARAM, DEFAULT_MAX_ENTRIES);
+        return new TenantContextCache(TimeUnit.SECONDS.toMillis(ttl), maxEntries);
+    }
+
+    /**
+     * Returns the context of the given tenant, creating a new one if the tenant is not cached or its context has
+     * expired.
+     * @param tenantDomain tenant domain
+     * @return tenant context
+     */
+    public TenantContext get(String tenantDomain) {
+        long now = System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return new TenantContext(tenantDomain, now);
+        }
+        synchronized (contexts) {
+            TenantContext tenantContext = contexts.get(tenantDomain);
+            if (tenantContext == null || tenantContext.isExpired(now)) {
+                tenantContext = new TenantContext(tenantDomain, now + ttlMillis);
+                contexts.put(tenantDomain, tenantContext);
+            }
+            return tenantContext;
+        }
+    }
+
+    /**
+     * Drops the cached context of the given tenant.
+     * @param tenantDomain tenant domain
+     */
+    public void invalidate(String tenantDomain) {
+        synchronized (contexts) {
+            contexts.remove(tenantDomain);
+        }
+    }
+
+    public int size() {
+        synchronized (contexts) {
+            return contexts.size();
+        }
+    }
+}
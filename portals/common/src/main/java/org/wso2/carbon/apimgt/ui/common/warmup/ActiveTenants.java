@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+import org.wso2.carbon.user.api.Tenant;
+import org.wso2.carbon.user.api.UserStoreException;
+
+/**
+ * Reads the active tenants of the server for the warm-up of all the tenants. Kept apart from {@link PortalWarmup}, so
+ * the Carbon user API is only loaded when the tenants are listed.
+ */
+final class ActiveTenants {
+
+    private ActiveTenants() {
+    }
+
+    /**
+     * @param superTenantDomain domain of the super tenant, listed first
+     * @return domains of the active tenants of the server
+     * @throws APIManagementException if the tenants could not be read
+     */
+    static List<String> getDomains(String superTenantDomain) throws APIManagementException {
+        Set<String> tenantDomains = new LinkedHashSet<>();
+        tenantDomains.add(superTenantDomain);
+        try {
+            for (Tenant tenant : APIUtil.getAllTenantsWithSuperTenant()) {
+                if (tenant.isActive()) {
+                    tenantDomains.add(tenant.getDomain());
+                }
+            }
+        } catch (UserStoreException e) {
+            throw new APIManagementException("Error while reading the tenants of the server", e);
+        }
+        return new ArrayList<>(tenantDomains);
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.warmup;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.ServletContext;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO;
+import org.wso2.carbon.apimgt.ui.common.auth.SystemApplicationCache;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+import org.wso2.carbon.apimgt.ui.common.config.ServletContexts;
+import org.wso2.carbon.apimgt.ui.common.http.LoopbackHttpClient;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContextCache;
+
+/**
+ * Does the work of the first login of each tenant when the web application is deployed, so it is not paid by the
+ * first user after a restart: the settings REST APIs of the key manager are called over the loopback client
+ * (opening its TLS connections), and for each tenant its tenant based context and domain mapping are loaded
+ * and the client credentials of the system application are read into {@link SystemApplicationCache}. A system
+ * application that is not registered yet is still registered by the first login, as its callback URL depends on the
+ * host of the login request.
+ * <p>
+ * The tenants are warmed up in parallel on a bounded pool of threads, off the deployment thread. The loopback calls
+ * are retried until the key manager accepts connections, as the transports of the server may open after the web
+ * application is deployed. The portal reports ready at /services/ready once all the work is done, failed or not, or
+ * once the warm-up has timed out. The following context parameters can be used to tune it,
+ * <ul>
+ *     <li>warmup.enabled - whether the portal is warmed up on deployment, it is ready right away otherwise</li>
+ *     <li>warmup.tenants - comma separated domains of the tenants to be warmed up, * for all the active tenants</li>
+ *     <li>warmup.maxConcurrency - maximum number of tenants warmed up at once</li>
+ *     <li>warmup.timeout - time in seconds after which the portal is reported ready even if still warming up</li>
+ * </ul>
+ */
+public final class PortalWarmup implements AutoCloseable {
+
+    public static final String CONTEXT_ATTRIBUTE = PortalWarmup.class.getName();
+
+    static final String ENABLED_PARAM = "warmup.enabled";
+    static final String TENANTS_PARAM = "warmup.tenants";
+    static final String MAX_CONCURRENCY_PARAM = "warmup.maxConcurrency";
+    static final String TIMEOUT_PARAM = "warmup.timeout";
+
+    private static final Log log = LogFactory.getLog(PortalWarmup.class);
+    private static final String SUPER_TENANT_DOMAIN = "carbon.super";
+    private static final String ALL_TENANTS = "*";
+    private static final int DEFAULT_MAX_CONCURRENCY = 4;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 300;
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 500;
+    private static final long MAX_RETRY_DELAY_MILLIS = 10000;
+    private static final JsonPath ORIGIN_HOST = JsonPath.compile("app.origin.host");
+
+    private final ServletContext context;
+    private final Portal portal;
+    private final String tenants;
+    private final long timeoutMillis;
+    private final long deadline;
+    private final ExecutorService executor;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicBoolean timedOut = new AtomicBoolean();
+    private volatile boolean done;
+
+    PortalWarmup(ServletContext context, Portal portal, String tenants, int maxConcurrency, long timeoutMillis) {
+        this.context = context;
+        this.portal = portal;
+        this.tenants = tenants;
+        this.timeoutMillis = timeoutMillis;
+        this.deadline = System.currentTimeMillis() + timeoutMillis;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrency), new DaemonThreadFactory(
+                context.getContextPath().isEmpty() ? "ROOT" : context.getContextPath().substring(1),
+                Thread.currentThread().getContextClassLoader()));
+    }
+
+    /**
+     * Creates the warm-up of the given web application configured from its context parameters.
+     * @param context servlet context of the web application
+     * @return warm-up of the web application, or null if it is not enabled
+     */
+    static PortalWarmup create(ServletContext context) {
+        if (!ServletContexts.getBoolean(context, ENABLED_PARAM, false)) {
+            return null;
+        }
+        int maxConcurrency = ServletContexts.getInt(context, MAX_CONCURRENCY_PARAM, DEFAULT_MAX_CONCURRENCY);
+        long timeout = ServletContexts.getLong(context, TIMEOUT_PARAM, DEFAULT_TIMEOUT_SECONDS);
+        return new PortalWarmup(context, Portal.get(context), context.getInitParameter(TENANTS_PARAM),
+                maxConcurrency, TimeUnit.SECONDS.toMillis(timeout));
+    }
+
+    /**
+     * Returns the warm-up of the given web application.
+     * @param context servlet context of the web application
+     * @return warm-up of the web application, or null if the portal is not warmed up
+     */
+    public static PortalWarmup get(ServletContext context) {
+        return (PortalWarmup) context.getAttribute(CONTEXT_ATTRIBUTE);
+    }
+
+    /**
+     * Starts warming up the portal and returns right away.
+     */
+    void start() {
+        List<CompletableFuture<Void>> steps = new ArrayList<>();
+        steps.add(run("the loopback calls", this::warmUpLoopback));
+        for (String tenantDomain : resolveTenantDomains()) {
+            steps.add(run("tenant " + tenantDomain, () -> warmUpTenant(tenantDomain)));
+        }
+        long start = System.currentTimeMillis();
+        // the timeout is checked by isReady, CompletableFuture.orTimeout would pin the JDK wide delay scheduler
+        // thread to the class loader of the web application
+        CompletableFuture.allOf(steps.toArray(new CompletableFuture[0])).whenComplete((result, e) -> {
+            log.info("Warmed up the " + portal.getDisplayName() + " in " + (System.currentTimeMillis() - start)
+                    + "ms, " + failed.get() + " of " + total.get() + " steps failed");
+            done = true;
+            executor.shutdown();
+        });
+    }
+
+    private CompletableFuture<Void> run(String name, Step step) {
+        total.incrementAndGet();
+        return CompletableFuture.runAsync(() -> {
+            try {
+                step.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.warn("Could not warm up " + name + " of the " + portal.getDisplayName(), e);
+            } finally {
+                completed.incrementAndGet();
+            }
+        }, executor);
+    }
+
+    private Set<String> resolveTenantDomains() {
+        Set<String> tenantDomains = new LinkedHashSet<>();
+        if (tenants == null || tenants.trim().isEmpty()) {
+            tenantDomains.add(SUPER_TENANT_DOMAIN);
+        } else if (ALL_TENANTS.equals(tenants.trim())) {
+            try {
+                tenantDomains.addAll(ActiveTenants.getDomains(SUPER_TENANT_DOMAIN));
+            } catch (APIManagementException e) {
+                log.warn("Could not read the active tenants, only the super tenant is warmed up", e);
+                tenantDomains.add(SUPER_TENANT_DOMAIN);
+            }
+        } else {
+            for (String tenantDomain : tenants.split(",")) {
+                if (!tenantDomain.trim().isEmpty()) {
+                    tenantDomains.add(tenantDomain.trim());
+                }
+            }
+        }
+        return tenantDomains;
+    }
+
+    /**
+     * Calls the settings REST APIs read by the login, which opens the loopback connections.
+     */
+    private void warmUpLoopback() throws IOException, InterruptedException {
+        Map<String, Object> settings = ConfigStore.getInstance().get(
+                context.getRealPath(portal.getSettingsPath())).view();
+        String origin = portal.getLoopbackOrigin(ORIGIN_HOST.getString(settings));
+        LoopbackHttpClient loopbackClient = LoopbackHttpClient.get(context);
+        for (String path : portal.getSettingsApiPaths()) {
+            HttpRequest request = loopbackClient.newRequest(origin + path).build();
+            long delay = INITIAL_RETRY_DELAY_MILLIS;
+            while (true) {
+                IOException failure;
+                try {
+                    HttpResponse<Void> response = loopbackClient.send(Upstream.SETTINGS, request,
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() < 500) {
+                        break;
+                    }
+                    failure = new IOException("Settings REST API " + path + " responded with status "
+                            + response.statusCode());
+                } catch (IOException e) {
+                    // the transports of the server may not be open yet, or the key manager is still busy
+                    failure = e;
+                }
+                if (System.currentTimeMillis() + delay >= deadline) {
+                    throw failure;
+                }
+                log.debug("Settings REST API " + path + " is not available yet, retrying the warm-up call");
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Loads the tenant specific values and the system application credentials read by the login of the tenant.
+     */
+    private void warmUpTenant(String tenantDomain) throws APIManagementException {
+        TenantContext tenantContext = TenantContextCache.get(context).get(tenantDomain);
+        portal.warmUp(tenantContext);
+        String serviceProviderTenantDomain = portal.getServiceProviderTenantDomain(tenantContext);
+        SystemApplicationDTO systemApplication = SystemApplicationCache.get(context).getClientCredentials(
+                portal.getClientAppName(), serviceProviderTenantDomain, portal.getLegacyClientAppNames());
+        if (systemApplication == null) {
+            log.info("System application of the " + portal.getDisplayName() + " is not registered in "
+                    + serviceProviderTenantDomain + " yet, it is registered on the first login");
+        }
+    }
+
+    /**
+     * @return whether the warm-up has completed or timed out
+     */
+    public boolean isReady() {
+        if (done) {
+            return true;
+        }
+        if (System.currentTimeMillis() < deadline) {
+            return false;
+        }
+        if (timedOut.compareAndSet(false, true)) {
+            log.warn("Warm-up of the " + portal.getDisplayName() + " did not complete within " + timeoutMillis
+                    + "ms, " + completed.get() + " of " + total.get() + " steps are done");
+        }
+        return true;
+    }
+
+    /**
+     * @return number of warm-up steps, one for the loopback calls and one per tenant
+     */
+    public int getTotal() {
+        return total.get();
+    }
+
+    /**
+     * @return number of warm-up steps done, including the failed ones
+     */
+    public int getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * @return number of warm-up steps that failed
+     */
+    public int getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Step {
+
+        void run() throws Exception;
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final ClassLoader classLoader;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private DaemonThreadFactory(String name, ClassLoader classLoader) {
+            this.prefix = name + "-warmup-";
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            // Carbon and the registry resolve classes through the context class loader of the web application
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.warmup;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Starts the {@link PortalWarmup} of the web application on deployment, when enabled, and stops it on undeployment.
+ */
+public class PortalWarmupListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        PortalWarmup warmup = PortalWarmup.create(context);
+        if (warmup != null) {
+            context.setAttribute(PortalWarmup.CONTEXT_ATTRIBUTE, warmup);
+            warmup.start();
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        PortalWarmup warmup = (PortalWarmup) context.getAttribute(PortalWarmup.CONTEXT_ATTRIBUTE);
+        if (warmup != null) {
+            context.removeAttribute(PortalWarmup.CONTEXT_ATTRIBUTE);
+            warmup.close();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.warmup;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Reports whether the portal is ready to be routed to, for the health checks of the load balancer. It answers with
+ * a 503 while the {@link PortalWarmup} is running and with a 200 once it is done, or right away when the portal is
+ * not warmed up. Only the progress of the warm-up is reported, hence it is served to any client.
+ */
+public class ReadinessServlet extends HttpServlet {
+
+    // asks the load balancer to check again shortly, the warm-up is expected to take seconds
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        PortalWarmup warmup = PortalWarmup.get(getServletContext());
+        response.setContentType("application/json");
+        response.setHeader("Cache-Control", "no-store");
+        if (warmup == null || warmup.isReady()) {
+            response.getWriter().print("{\"status\":\"ready\"}");
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+        response.getWriter().print("{\"status\":\"warming\",\"completed\":" + warmup.getCompleted()
+                + ",\"total\":" + warmup.getTotal() + "}");
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class IntrospectionCacheTest {
+
+    private static final String TOKEN = "eb8e5b0b-2b43-3e59-a3f4-8e3e0c9b4d5e";
+
+    @Test
+    public void returnsTheCachedResultWithinTheTtl() {
+        IntrospectionCache cache = new IntrospectionCache(60000, 100);
+        IntrospectionResult result = active(expiresIn(3600));
+
+        cache.put(TOKEN, result);
+
+        assertSame(result, cache.get(TOKEN));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void dropsTheResultOnceTheTtlIsOver() throws Exception {
+        IntrospectionCache cache = new IntrospectionCache(50, 100);
+        cache.put(TOKEN, active(expiresIn(3600)));
+        Thread.sleep(100);
+
+        assertNull(cache.get(TOKEN));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void dropsTheResultOnceTheTokenExpires() throws Exception {
+        IntrospectionCache cache = new IntrospectionCache(60000, 100);
+        cache.put(TOKEN, active(expiresIn(1)));
+
+        Thread.sleep(1100);
+
+        assertNull(cache.get(TOKEN));
+    }
+
+    @Test
+    public void doesNotCacheExpiredInactiveOrFailedResults() {
+        IntrospectionCache cache = new IntrospectionCache(60000, 100);
+
+        cache.put("expired", active(expiresIn(-60)));
+        cache.put("inactive", new IntrospectionResult(200, "{\"active\":false}", null));
+        cache.put("failed", IntrospectionResult.failed(IntrospectionResult.UPSTREAM_ERROR, "{}"));
+        cache.put("invalid", new IntrospectionResult(200, "<html>", null));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void doesNotCacheWhenDisabled() {
+        IntrospectionCache cache = new IntrospectionCache(0, 100);
+
+        cache.put(TOKEN, active(expiresIn(3600)));
+
+        assertNull(cache.get(TOKEN));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedResult() {
+        IntrospectionCache cache = new IntrospectionCache(60000, 2);
+        IntrospectionResult result = active(expiresIn(3600));
+        cache.put("a", result);
+        cache.put("b", result);
+        cache.get("a");
+
+        cache.put("c", result);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(result, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertSame(result, cache.get("c"));
+    }
+
+    @Test
+    public void dropsAnInvalidatedResult() {
+        IntrospectionCache cache = new IntrospectionCache(60000, 100);
+        cache.put(TOKEN, active(expiresIn(3600)));
+
+        cache.invalidate(TOKEN);
+
+        assertNull(cache.get(TOKEN));
+    }
+
+    private static IntrospectionResult active(long exp) {
+        return new IntrospectionResult(200, "{\"active\":true,\"exp\":" + exp + "}", null);
+    }
+
+    private static long expiresIn(long seconds) {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + seconds;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.impl.dao.SystemApplicationDAO;
+import org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO;
+import org.wso2.carbon.apimgt.ui.common.config.TestServletContext;
+import org.wso2.carbon.apimgt.ui.common.metrics.ServiceMetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SystemApplicationCacheTest {
+
+    private static final String APP_NAME = "apim_publisher";
+    private static final String LEGACY_APP_NAME = "admin_publisher";
+    private static final String TENANT = "carbon.super";
+    private static final long TTL_MS = 60000;
+    private static final long TIMEOUT_MS = 5000;
+
+    private final CountingSystemApplicationDAO dao = new CountingSystemApplicationDAO();
+    private final ServiceMetrics metrics = ServiceMetrics.get(
+            TestServletContext.create("/publisher", Collections.emptyMap()));
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void readsTheCredentialsOnce() throws Exception {
+        dao.add(APP_NAME, TENANT, "ck");
+        SystemApplicationCache cache = newCache(TTL_MS, 1000);
+
+        assertEquals("ck", cache.getClientCredentials(APP_NAME, TENANT).getConsumerKey());
+        assertEquals("ck", cache.getClientCredentials(APP_NAME, TENANT).getConsumerKey());
+        assertEquals(1, dao.lookups.get());
+    }
+
+    @Test
+    public void cachesTheCredentialsFoundUnderALegacyName() throws Exception {
+        dao.add(LEGACY_APP_NAME, TENANT, "ck");
+        SystemApplicationCache cache = newCache(TTL_MS, 1000);
+
+        assertEquals("ck", cache.getClientCredentials(APP_NAME, TENANT, LEGACY_APP_NAME).getConsumerKey());
+        assertEquals("ck", cache.getClientCredentials(APP_NAME, TENANT, LEGACY_APP_NAME).getConsumerKey());
+        assertEquals(2, dao.lookups.get());
+    }
+
+    @Test
+    public void keepsANotFoundResultForTheNegativeTtl() throws Exception {
+        SystemApplicationCache cache = newCache(TTL_MS, 1000);
+
+        assertNull(cache.getClientCredentials(APP_NAME, TENANT));
+        dao.add(APP_NAME, TENANT, "ck");
+        assertNull(cache.getClientCredentials(APP_NAME, TENANT));
+        Thread.sleep(100);
+
+        assertEquals("ck", cache.getClientCredentials(APP_NAME, TENANT).getConsumerKey());
+        assertEquals(2, dao.lookups.get());
+    }
+
+    @Test
+    public void dropsTheLeastRecentlyUsedCredentials() throws Exception {
+        dao.add(APP_NAME, "a.com", "ck-a");
+        dao.add(APP_NAME, "b.com", "ck-b");
+        dao.add(APP_NAME, "c.com", "ck-c");
+        SystemApplicationCache cache = newCache(TTL_MS, 2);
+        cache.getClientCredentials(APP_NAME, "a.com");
+        cache.getClientCredentials(APP_NAME, "b.com");
+        cache.getClientCredentials(APP_NAME, "a.com");
+
+        cache.getClientCredentials(APP_NAME, "c.com");
+
+        assertEquals(3, dao.lookups.get());
+        cache.getClientCredentials(APP_NAME, "a.com");
+        assertEquals(3, dao.lookups.get());
+        cache.getClientCredentials(APP_NAME, "b.com");
+        assertEquals(4, dao.lookups.get());
+    }
+
+    @Test
+    public void readsTheCredentialsAgainOnceTheyAreAdded() throws Exception {
+        dao.add(APP_NAME, TENANT, "ck");
+        SystemApplicationCache cache = newCache(TTL_MS, 1000);
+        cache.getClientCredentials(APP_NAME, TENANT);
+
+        cache.addApplicationKey(APP_NAME, "ck-new", "cs-new", TENANT);
+
+        assertEquals("ck-new", cache.getClientCredentials(APP_NAME, TENANT).getConsumerKey());
+        assertEquals(2, dao.lookups.get());
+    }
+
+    @Test
+    public void cachesThePkceFlag() throws Exception {
+        SystemApplicationCache cache = newCache(TTL_MS, 1000);
+
+        assertFalse(cache.isPKCEEnabled("ck"));
+        assertFalse(cache.isPKCEEnabled("ck"));
+        assertEquals(1, dao.pkceLookups.get());
+    }
+
+    @Test
+    public void readsEveryTimeWhenDisabled() throws Exception {
+        dao.add(APP_NAME, TENANT, "ck");
+        SystemApplicationCache cache = newCache(0, 1000);
+
+        cache.getClientCredentials(APP_NAME, TENANT);
+        cache.getClientCredentials(APP_NAME, TENANT);
+        cache.isPKCEEnabled("ck");
+        cache.isPKCEEnabled("ck");
+
+        assertEquals(2, dao.lookups.get());
+        assertEquals(2, dao.pkceLookups.get());
+    }
+
+    @Test
+    public void registersTheApplicationOnceForConcurrentLogins() throws Exception {
+        SystemApplicationCache cache = newCache(TTL_MS, 1000);
+        AtomicInteger registrations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        SystemApplicationCache.Registration registration = () -> {
+            registrations.incrementAndGet();
+            started.countDown();
+            finish.await();
+            return credentials("ck-registered");
+        };
+        List<Future<SystemApplicationDTO>> logins = new ArrayList<>();
+        logins.add(executor.submit(() -> cache.getOrRegister(APP_NAME, TENANT, registration)));
+        started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 4; i++) {
+            logins.add(executor.submit(() -> cache.getOrRegister(APP_NAME, TENANT, registration)));
+        }
+        // the not found result of the first login is cached, the others go straight to the running registration
+        Thread.sleep(50);
+        finish.countDown();
+
+        for (Future<SystemApplicationDTO> login : logins) {
+            assertEquals("ck-registered", login.get(TIMEOUT_MS, TimeUnit.MILLISECONDS).getConsumerKey());
+        }
+        assertEquals(1, registrations.get());
+        assertEquals("ck-registered", cache.getClientCredentials(APP_NAME, TENANT).getConsumerKey());
+    }
+
+    @Test
+    public void doesNotRegisterAnApplicationRegisteredMeanwhile() throws Exception {
+        SystemApplicationCache cache = newCache(TTL_MS, 1000);
+        assertNull(cache.getClientCredentials(APP_NAME, TENANT));
+        dao.add(APP_NAME, TENANT, "ck-other-node");
+
+        SystemApplicationDTO registered = cache.getOrRegister(APP_NAME, TENANT, () -> {
+            throw new IllegalStateException("The application was registered again");
+        });
+
+        assertNotNull(registered);
+        assertEquals("ck-other-node", registered.getConsumerKey());
+    }
+
+    private SystemApplicationCache newCache(long ttlMillis, int maxEntries) {
+        return new SystemApplicationCache(dao, metrics, ttlMillis, 50, TIMEOUT_MS, maxEntries);
+    }
+
+    private static SystemApplicationDTO credentials(String consumerKey) {
+        SystemApplicationDTO systemApplicationDTO = new SystemApplicationDTO();
+        systemApplicationDTO.setConsumerKey(consumerKey);
+        systemApplicationDTO.setConsumerSecret("cs");
+        return systemApplicationDTO;
+    }
+
+    /**
+     * Keeps the applications in memory and counts the reads of the cache.
+     */
+    private static final class CountingSystemApplicationDAO extends SystemApplicationDAO {
+
+        private final Map<String, SystemApplicationDTO> applications = new ConcurrentHashMap<>();
+        private final AtomicInteger lookups = new AtomicInteger();
+        private final AtomicInteger pkceLookups = new AtomicInteger();
+
+        private void add(String appName, String tenantDomain, String consumerKey) {
+            applications.put(appName + '@' + tenantDomain, credentials(consumerKey));
+        }
+
+        @Override
+        public SystemApplicationDTO getClientCredentialsForApplication(String appName, String tenantDomain) {
+            lookups.incrementAndGet();
+            return applications.get(appName + '@' + tenantDomain);
+        }
+
+        @Override
+        public boolean addApplicationKey(String appName, String consumerKey, String consumerSecret,
+                                         String tenantDomain) {
+            add(appName, tenantDomain, consumerKey);
+            return true;
+        }
+
+        @Override
+        public boolean isPKCEEnabled(String consumerKey) {
+            pkceLookups.incrementAndGet();
+            return false;
+        }
+
+        @Override
+        public boolean isBypassClientCredentials(String consumerKey) {
+            return false;
+        }
+    }
+}
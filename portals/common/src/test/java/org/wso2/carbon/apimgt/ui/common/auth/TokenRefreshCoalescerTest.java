@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.auth;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TokenRefreshCoalescerTest {
+
+    private static final String TENANT = "carbon.super";
+    private static final String REFRESH_TOKEN = "6f1b0c52-4b0e-3b4e-9c4c-3f4a7e0d2b61";
+    private static final long TIMEOUT_MS = 5000;
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void replaysTheTokenResponseWithinTheGraceWindow() throws Exception {
+        TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer(60000, 1000);
+
+        TokenRefreshCoalescer.Result first = coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+        TokenRefreshCoalescer.Result second = coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+
+        assertSame(first, second);
+        assertEquals(1, exchanges.get());
+        assertEquals(1, coalescer.getReplayedCount());
+    }
+
+    @Test
+    public void exchangesTheTokenAgainOnceTheGraceWindowIsOver() throws Exception {
+        TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer(50, 1000);
+        coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+        Thread.sleep(100);
+
+        coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+
+        assertEquals(2, exchanges.get());
+        assertEquals(0, coalescer.getReplayedCount());
+    }
+
+    @Test
+    public void doesNotReplayWhenTheGraceWindowIsDisabled() throws Exception {
+        TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer(0, 1000);
+
+        coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+        coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    public void doesNotReplayFailedTokenResponses() throws Exception {
+        TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer(60000, 1000);
+        TokenRefreshCoalescer.Exchange failing = () -> {
+            exchanges.incrementAndGet();
+            return new TokenRefreshCoalescer.Result(400, "{\"error\":\"invalid_grant\"}");
+        };
+
+        coalescer.refresh(TENANT, REFRESH_TOKEN, failing, TIMEOUT_MS);
+        coalescer.refresh(TENANT, REFRESH_TOKEN, failing, TIMEOUT_MS);
+
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    public void doesNotShareTheTokenResponseAcrossTenants() throws Exception {
+        TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer(60000, 1000);
+
+        coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+        coalescer.refresh("wso2.com", REFRESH_TOKEN, this::exchange, TIMEOUT_MS);
+
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    public void keepsTheMostRecentlyUsedTokenResponses() throws Exception {
+        TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer(60000, 2);
+        coalescer.refresh(TENANT, "a", this::exchange, TIMEOUT_MS);
+        coalescer.refresh(TENANT, "b", this::exchange, TIMEOUT_MS);
+        coalescer.refresh(TENANT, "a", this::exchange, TIMEOUT_MS);
+
+        coalescer.refresh(TENANT, "c", this::exchange, TIMEOUT_MS);
+
+        assertEquals(3, exchanges.get());
+        coalescer.refresh(TENANT, "a", this::exchange, TIMEOUT_MS);
+        assertEquals(3, exchanges.get());
+        coalescer.refresh(TENANT, "b", this::exchange, TIMEOUT_MS);
+        assertEquals(4, exchanges.get());
+    }
+
+    @Test
+    public void sharesTheRunningExchangeWithConcurrentRefreshes() throws Exception {
+        TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer(60000, 1000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<TokenRefreshCoalescer.Result> first = executor.submit(() ->
+                coalescer.refresh(TENANT, REFRESH_TOKEN, () -> {
+                    started.countDown();
+                    finish.await();
+                    return exchange();
+                }, TIMEOUT_MS));
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        Future<TokenRefreshCoalescer.Result> second = executor.submit(() ->
+                coalescer.refresh(TENANT, REFRESH_TOKEN, this::exchange, TIMEOUT_MS));
+        // gives the second refresh the time to find the running exchange
+        Thread.sleep(50);
+        finish.countDown();
+
+        assertSame(first.get(TIMEOUT_MS, TimeUnit.MILLISECONDS), second.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(1, exchanges.get());
+        assertEquals(1, coalescer.getCoalescedCount());
+    }
+
+    private TokenRefreshCoalescer.Result exchange() {
+        return new TokenRefreshCoalescer.Result(200, "{\"access_token\":\"at-" + exchanges.incrementAndGet() + "\"}");
+    }
+}
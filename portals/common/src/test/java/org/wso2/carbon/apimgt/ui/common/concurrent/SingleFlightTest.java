@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void sharesTheRunningCallWithConcurrentCallers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> singleFlight.execute("carbon.super", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            finish.await();
+            return "value";
+        }, TIMEOUT_MS));
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        List<Future<String>> waiting = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            waiting.add(executor.submit(() -> singleFlight.execute("carbon.super", () -> {
+                calls.incrementAndGet();
+                return "other";
+            }, TIMEOUT_MS)));
+        }
+        for (Future<String> future : waiting) {
+            awaitWaiting(future);
+        }
+        finish.countDown();
+
+        assertEquals("value", first.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        for (Future<String> future : waiting) {
+            assertEquals("value", future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void runsTheCallAgainOnceTheRunningCallCompleted() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, (int) singleFlight.execute("carbon.super", calls::incrementAndGet, TIMEOUT_MS));
+        assertEquals(2, (int) singleFlight.execute("carbon.super", calls::incrementAndGet, TIMEOUT_MS));
+    }
+
+    @Test
+    public void sharesTheFailureOfTheRunningCall() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        IllegalStateException failure = new IllegalStateException("registration failed");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> singleFlight.execute("carbon.super", () -> {
+            started.countDown();
+            finish.await();
+            throw failure;
+        }, TIMEOUT_MS));
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        Future<String> waiting = executor.submit(() -> singleFlight.execute("carbon.super", () -> "value",
+                TIMEOUT_MS));
+        awaitWaiting(waiting);
+        finish.countDown();
+
+        assertSame(failure, causeOf(first).getCause());
+        assertSame(failure, causeOf(waiting).getCause());
+        assertEquals("value", singleFlight.execute("carbon.super", () -> "value", TIMEOUT_MS));
+    }
+
+    @Test
+    public void stopsWaitingWithoutInterruptingTheRunningCall() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> singleFlight.execute("carbon.super", () -> {
+            started.countDown();
+            finish.await();
+            return "value";
+        }, TIMEOUT_MS));
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        try {
+            singleFlight.execute("carbon.super", () -> "other", 50);
+            fail("The caller did not give up waiting");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        assertFalse(first.isDone());
+        finish.countDown();
+        assertEquals("value", first.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void runsTheCallsOfDifferentKeysInParallel() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> singleFlight.execute("carbon.super", () -> {
+            started.countDown();
+            finish.await();
+            return "super";
+        }, TIMEOUT_MS));
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        assertEquals("wso2.com", singleFlight.execute("wso2.com", () -> "wso2.com", TIMEOUT_MS));
+        assertEquals(1, singleFlight.size());
+        finish.countDown();
+        assertEquals("super", first.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    private static ExecutionException causeOf(Future<?> future) throws Exception {
+        try {
+            future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            fail("The call did not fail");
+            return null;
+        } catch (ExecutionException e) {
+            // the future of the executor wraps the exception thrown by SingleFlight#execute
+            assertTrue(e.getCause() instanceof ExecutionException);
+            return (ExecutionException) e.getCause();
+        }
+    }
+
+    /**
+     * Gives the second caller the time to find the running call, there is no way to observe it waiting.
+     */
+    private static void awaitWaiting(Future<?> future) throws InterruptedException {
+        Thread.sleep(50);
+        assertFalse(future.isDone());
+    }
+}
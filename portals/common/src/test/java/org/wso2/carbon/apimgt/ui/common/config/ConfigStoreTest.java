@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.config;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigStoreTest {
+
+    // a little more than the interval the files are checked at
+    private static final long CHECK_INTERVAL_MS = 1100;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ConfigStore store = ConfigStore.getInstance();
+
+    @Test
+    public void parsesTheFileOnce() throws Exception {
+        Path settings = write("settings.json", "{\"app\":{\"context\":\"/publisher\"}}", 1000);
+
+        ConfigSnapshot snapshot = store.get(settings.toString());
+
+        assertEquals("/publisher", ((Map<?, ?>) snapshot.getContent().get("app")).get("context"));
+        assertSame(snapshot, store.get(settings.toString()));
+    }
+
+    @Test
+    public void keepsTheSnapshotOfAnUnchangedFile() throws Exception {
+        Path settings = write("settings.json", "{\"theme\":\"light\"}", 1000);
+        ConfigSnapshot snapshot = store.get(settings.toString());
+        Thread.sleep(CHECK_INTERVAL_MS);
+
+        assertSame(snapshot, store.get(settings.toString()));
+    }
+
+    @Test
+    public void reloadsTheFileOnceItsLastModifiedTimeChanges() throws Exception {
+        Path settings = write("settings.json", "{\"theme\":\"light\"}", 1000);
+        ConfigSnapshot snapshot = store.get(settings.toString());
+        // same size, only the last modified time tells the change
+        write("settings.json", "{\"theme\":\"dark!\"}", 2000);
+
+        assertSame("The file was checked before the interval", snapshot, store.get(settings.toString()));
+        Thread.sleep(CHECK_INTERVAL_MS);
+
+        ConfigSnapshot reloaded = store.get(settings.toString());
+        assertNotSame(snapshot, reloaded);
+        assertEquals("dark!", reloaded.getContent().get("theme"));
+        assertTrue(reloaded.getVersion() > snapshot.getVersion());
+        assertEquals("light", snapshot.getContent().get("theme"));
+    }
+
+    @Test
+    public void reloadsTheFileOnceItsSizeChanges() throws Exception {
+        Path settings = write("settings.json", "{\"theme\":\"light\"}", 1000);
+        ConfigSnapshot snapshot = store.get(settings.toString());
+        write("settings.json", "{\"theme\":\"light\",\"dense\":true}", 1000);
+        Thread.sleep(CHECK_INTERVAL_MS);
+
+        ConfigSnapshot reloaded = store.get(settings.toString());
+
+        assertNotSame(snapshot, reloaded);
+        assertEquals(Boolean.TRUE, reloaded.getContent().get("dense"));
+    }
+
+    @Test
+    public void reloadsAnInvalidatedFileRightAway() throws Exception {
+        Path settings = write("settings.json", "{\"theme\":\"light\"}", 1000);
+        ConfigSnapshot snapshot = store.get(settings.toString());
+        write("settings.json", "{\"theme\":\"dark!\"}", 2000);
+
+        store.invalidate(settings.toString());
+
+        assertEquals("dark!", store.get(settings.toString()).getContent().get("theme"));
+        assertTrue(store.get(settings.toString()).getVersion() > snapshot.getVersion());
+    }
+
+    @Test
+    public void derivesAValueOncePerVersion() throws Exception {
+        Path settings = write("settings.json", "{\"theme\":\"light\"}", 1000);
+        ConfigSnapshot snapshot = store.get(settings.toString());
+        Object derived = snapshot.derive(ConfigStoreTest.class, content -> new Object());
+        assertSame(derived, store.get(settings.toString()).derive(ConfigStoreTest.class, content -> new Object()));
+        write("settings.json", "{\"theme\":\"dark!\"}", 2000);
+        Thread.sleep(CHECK_INTERVAL_MS);
+
+        assertNotSame(derived, store.get(settings.toString()).derive(ConfigStoreTest.class, content -> new Object()));
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void failsForAMissingFile() throws Exception {
+        store.get(folder.getRoot().toPath().resolve("missing.json").toString());
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void failsForAnUnresolvedPath() throws Exception {
+        store.get(null);
+    }
+
+    @Test
+    public void failsOnceTheFileIsDeleted() throws Exception {
+        Path settings = write("settings.json", "{\"theme\":\"light\"}", 1000);
+        store.get(settings.toString());
+        Files.delete(settings);
+        Thread.sleep(CHECK_INTERVAL_MS);
+
+        try {
+            store.get(settings.toString());
+        } catch (FileNotFoundException e) {
+            return;
+        }
+        throw new AssertionError("The deleted file was still read");
+    }
+
+    /**
+     * Writes the given content with a last modified time the given number of seconds after the epoch.
+     */
+    private Path write(String name, String content, long lastModifiedSeconds) throws IOException {
+        Path path = folder.getRoot().toPath().resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModifiedSeconds * 1000));
+        return path;
+    }
+}
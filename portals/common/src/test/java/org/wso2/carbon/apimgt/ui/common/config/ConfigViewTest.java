@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.config;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigViewTest {
+
+    private final ConfigSnapshot snapshot = new ConfigSnapshot("settings.json", 1, 0, 0, settings());
+
+    @Test
+    public void readsTheSnapshot() {
+        Map<String, Object> view = snapshot.view();
+
+        assertEquals("light", view.get("theme"));
+        assertEquals("/publisher", app(view).get("context"));
+        assertEquals(Arrays.asList("a.com", "b.com"), app(view).get("hosts"));
+        assertEquals(2, view.size());
+        assertSame(snapshot, ((ConfigView) view).getSnapshot());
+        assertTrue(app(view) instanceof ConfigView);
+    }
+
+    @Test
+    public void keepsWritesLocalToTheView() {
+        Map<String, Object> view = snapshot.view();
+
+        view.put("theme", "dark");
+        view.remove("missing");
+
+        assertEquals("dark", view.get("theme"));
+        assertEquals("light", snapshot.view().get("theme"));
+        assertEquals("light", snapshot.getContent().get("theme"));
+    }
+
+    @Test
+    public void keepsWritesToNestedMapsLocalToTheView() {
+        Map<String, Object> view = snapshot.view();
+
+        app(view).put("context", "/custom");
+        app(view).remove("hosts");
+
+        assertEquals("/custom", app(view).get("context"));
+        assertFalse(app(view).containsKey("hosts"));
+        assertEquals("/publisher", app(snapshot.view()).get("context"));
+        assertTrue(app(snapshot.view()).containsKey("hosts"));
+    }
+
+    @Test
+    public void iteratesOverTheChangedNestedMaps() {
+        Map<String, Object> view = snapshot.view();
+        app(view).put("context", "/custom");
+
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : view.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals("/custom", app(copy).get("context"));
+    }
+
+    @Test
+    public void replacesANestedMap() {
+        Map<String, Object> view = snapshot.view();
+        app(view).put("context", "/custom");
+        Map<String, Object> app = new LinkedHashMap<>();
+        app.put("origin", "https://portal.example.com");
+
+        view.put("app", app);
+
+        assertSame(app, view.get("app"));
+        assertNull(app(view).get("context"));
+    }
+
+    @Test
+    public void clearsOnlyTheView() {
+        Map<String, Object> view = snapshot.view();
+
+        view.clear();
+
+        assertTrue(view.isEmpty());
+        assertEquals(2, snapshot.view().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void doesNotLetTheSnapshotBeChanged() {
+        snapshot.getContent().put("theme", "dark");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @SuppressWarnings("unchecked")
+    public void doesNotLetTheListsOfTheSnapshotBeChanged() {
+        ((List<Object>) app(snapshot.view()).get("hosts")).add("evil.com");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> app(Map<String, Object> settings) {
+        return (Map<String, Object>) settings.get("app");
+    }
+
+    private static Map<String, Object> settings() {
+        Map<String, Object> app = new LinkedHashMap<>();
+        app.put("context", "/publisher");
+        app.put("hosts", Arrays.asList("a.com", "b.com"));
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("theme", "light");
+        settings.put("app", app);
+        return settings;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ForwardedHostValidatorTest {
+
+    @Test
+    public void parsesHostsWithAndWithoutPort() {
+        assertEquals("example.com", ForwardedHostValidator.parseHost("example.com"));
+        assertEquals("example.com", ForwardedHostValidator.parseHost(" example.com:9443 "));
+        assertEquals("10.0.0.1", ForwardedHostValidator.parseHost("10.0.0.1:443"));
+    }
+
+    @Test
+    public void parsesIpv6Addresses() {
+        assertEquals("::1", ForwardedHostValidator.parseHost("[::1]"));
+        assertEquals("::1", ForwardedHostValidator.parseHost("[::1]:9443"));
+        assertEquals("fe80::1", ForwardedHostValidator.parseHost("fe80::1"));
+    }
+
+    @Test
+    public void rejectsMalformedHosts() {
+        assertNull(ForwardedHostValidator.parseHost(null));
+        assertNull(ForwardedHostValidator.parseHost(""));
+        assertNull(ForwardedHostValidator.parseHost(":9443"));
+        assertNull(ForwardedHostValidator.parseHost("example.com:"));
+        assertNull(ForwardedHostValidator.parseHost("example.com:94a3"));
+        assertNull(ForwardedHostValidator.parseHost("example.com:123456"));
+        assertNull(ForwardedHostValidator.parseHost("[::1"));
+        assertNull(ForwardedHostValidator.parseHost("[::1]9443"));
+        assertNull(ForwardedHostValidator.parseHost("[]:9443"));
+    }
+
+    @Test
+    public void allowsAllHostsWhenNoneAreConfigured() {
+        assertTrue(ForwardedHostValidator.compile(null).isAllowed("evil.com"));
+        assertTrue(ForwardedHostValidator.compile(Collections.emptyList()).isAllowed("evil.com"));
+    }
+
+    @Test
+    public void allowsTheConfiguredHostsIgnoringCaseAndPort() {
+        ForwardedHostValidator validator = ForwardedHostValidator.compile(
+                Arrays.asList("Portal.Example.com", "10.0.0.1", "[::1]"));
+
+        assertTrue(validator.isAllowed("portal.example.com"));
+        assertTrue(validator.isAllowed("PORTAL.EXAMPLE.COM:9443"));
+        assertTrue(validator.isAllowed("10.0.0.1:443"));
+        assertTrue(validator.isAllowed("[::1]:9443"));
+        assertFalse(validator.isAllowed("example.com"));
+        assertFalse(validator.isAllowed("portal.example.com.evil.com"));
+        assertFalse(validator.isAllowed("portal.example.com:abc"));
+        assertFalse(validator.isAllowed(null));
+    }
+
+    @Test
+    public void allowsTheSubDomainsOfAWildcardEntry() {
+        ForwardedHostValidator validator = ForwardedHostValidator.compile(Collections.singletonList("*.example.com"));
+
+        assertTrue(validator.isAllowed("portal.example.com"));
+        assertTrue(validator.isAllowed("a.b.example.com:9443"));
+        assertFalse(validator.isAllowed("example.com"));
+        assertFalse(validator.isAllowed(".example.com"));
+        assertFalse(validator.isAllowed("evil-example.com"));
+        assertFalse(validator.isAllowed("example.com.evil.com"));
+        assertFalse(validator.isAllowed("com"));
+    }
+
+    @Test
+    public void matchesWildcardEntriesSharingASuffix() {
+        ForwardedHostValidator validator = ForwardedHostValidator.compile(
+                Arrays.asList("*.dev.example.com", "*.example.org", "example.com"));
+
+        assertTrue(validator.isAllowed("portal.dev.example.com"));
+        assertTrue(validator.isAllowed("portal.example.org"));
+        assertTrue(validator.isAllowed("example.com"));
+        assertFalse(validator.isAllowed("dev.example.com"));
+        assertFalse(validator.isAllowed("portal.example.com"));
+        assertFalse(validator.isAllowed("portal.prod.example.com"));
+    }
+
+    @Test
+    public void ignoresInvalidEntries() {
+        ForwardedHostValidator validator = ForwardedHostValidator.compile(
+                Arrays.asList("portal.*.com", "*", "*.", " ", 42, "example.com"));
+
+        assertTrue(validator.isAllowed("example.com"));
+        assertFalse(validator.isAllowed("portal.example.com"));
+        assertFalse(validator.isAllowed("evil.com"));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StaticAssetFilterTest {
+
+    private static final String ETAG = "\"1f40-18c1a2b3c4d-br\"";
+
+    @Test
+    public void acceptsTheNamedCoding() {
+        assertTrue(StaticAssetFilter.accepts("gzip, deflate, br", "br"));
+        assertTrue(StaticAssetFilter.accepts("gzip, deflate, br", "gzip"));
+        assertTrue(StaticAssetFilter.accepts("GZIP", "gzip"));
+        assertTrue(StaticAssetFilter.accepts("br;q=0.5, gzip;q=1.0", "br"));
+        assertFalse(StaticAssetFilter.accepts("gzip, deflate", "br"));
+        assertFalse(StaticAssetFilter.accepts("brotli", "br"));
+        assertFalse(StaticAssetFilter.accepts("", "br"));
+        assertFalse(StaticAssetFilter.accepts(null, "br"));
+    }
+
+    @Test
+    public void rejectsACodingWithAZeroQuality() {
+        assertFalse(StaticAssetFilter.accepts("br;q=0, gzip", "br"));
+        assertFalse(StaticAssetFilter.accepts("br; q=0.000", "br"));
+        assertFalse(StaticAssetFilter.accepts("br;Q=0.0", "br"));
+        assertTrue(StaticAssetFilter.accepts("br;q=0.001", "br"));
+    }
+
+    @Test
+    public void acceptsACodingThroughTheWildcard() {
+        assertTrue(StaticAssetFilter.accepts("*", "br"));
+        assertTrue(StaticAssetFilter.accepts("gzip, *;q=0.1", "br"));
+        assertFalse(StaticAssetFilter.accepts("*;q=0", "br"));
+        // the coding named explicitly wins over the wildcard
+        assertTrue(StaticAssetFilter.accepts("*;q=0, br", "br"));
+        assertFalse(StaticAssetFilter.accepts("br;q=0, *", "br"));
+    }
+
+    @Test
+    public void matchesTheListedEntityTag() {
+        assertTrue(StaticAssetFilter.matches(ETAG, ETAG));
+        assertTrue(StaticAssetFilter.matches(" " + ETAG + " ", ETAG));
+        assertTrue(StaticAssetFilter.matches("\"other\", " + ETAG, ETAG));
+        assertTrue(StaticAssetFilter.matches("\"other\",\t" + ETAG + ",\"last\"", ETAG));
+        assertFalse(StaticAssetFilter.matches("\"other\"", ETAG));
+        assertFalse(StaticAssetFilter.matches("\"1f40-18c1a2b3c4d-gzip\"", ETAG));
+    }
+
+    @Test
+    public void matchesWeakEntityTags() {
+        assertTrue(StaticAssetFilter.matches("W/" + ETAG, ETAG));
+        assertTrue(StaticAssetFilter.matches("W/\"other\", W/" + ETAG, ETAG));
+    }
+
+    @Test
+    public void matchesAnyEntityTagThroughTheWildcard() {
+        assertTrue(StaticAssetFilter.matches("*", ETAG));
+        assertTrue(StaticAssetFilter.matches(" * ", ETAG));
+    }
+
+    @Test
+    public void matchesNothingWhenMalformed() {
+        assertFalse(StaticAssetFilter.matches("", ETAG));
+        assertFalse(StaticAssetFilter.matches("1f40-18c1a2b3c4d-br", ETAG));
+        assertFalse(StaticAssetFilter.matches("\"1f40-18c1a2b3c4d-br", ETAG));
+        assertFalse(StaticAssetFilter.matches("garbage, " + ETAG, ETAG));
+        assertFalse(StaticAssetFilter.matches("W/", ETAG));
+    }
+}
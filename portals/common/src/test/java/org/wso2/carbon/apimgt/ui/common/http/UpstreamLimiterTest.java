@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.common.http;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.ui.common.metrics.AdmissionStats;
+import org.wso2.carbon.apimgt.ui.common.metrics.Upstream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class UpstreamLimiterTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void rejectsCallsOnceTheQueueIsFull() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(1, 0, 1000, 20, 50, 30));
+        limiter.acquire();
+
+        assertRejected(limiter, UpstreamRejectedException.Reason.QUEUE_FULL);
+        assertEquals(1, limiter.getStats().getRejectedQueueFull());
+    }
+
+    @Test
+    public void rejectsQueuedCallsAfterTheQueueTimeout() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(1, 1, 50, 20, 50, 30));
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        assertRejected(limiter, UpstreamRejectedException.Reason.QUEUE_TIMEOUT);
+        assertFalse("The call did not wait for the queue timeout",
+                System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        AdmissionStats stats = limiter.getStats();
+        assertEquals(1, stats.getInFlight());
+        assertEquals(0, stats.getQueued());
+    }
+
+    @Test
+    public void handsAReleasedSlotToTheQueuedCall() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(1, 1, 10000, 20, 50, 30));
+        AdmissionControl.Permit first = limiter.acquire();
+        Future<AdmissionControl.Permit> queued = executor.submit(limiter::acquire);
+        awaitQueued(limiter, 1);
+
+        first.release(false);
+
+        queued.get(5, TimeUnit.SECONDS);
+        assertEquals(1, limiter.getStats().getInFlight());
+        assertEquals(0, limiter.getStats().getQueued());
+    }
+
+    @Test
+    public void opensTheCircuitOnlyOnceTheWindowIsFull() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(10, 10, 1000, 4, 50, 60));
+        complete(limiter, true, true, false);
+        assertEquals("closed", limiter.getStats().getCircuitState());
+
+        complete(limiter, false);
+
+        assertEquals("open", limiter.getStats().getCircuitState());
+        assertRejected(limiter, UpstreamRejectedException.Reason.CIRCUIT_OPEN);
+    }
+
+    @Test
+    public void dropsTheOldestOutcomeFromTheWindow() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(10, 10, 1000, 4, 50, 60));
+        // 1 of 4 failed, then the window slides to 1 of 4 again
+        complete(limiter, true, false, false, false, true);
+        assertEquals("closed", limiter.getStats().getCircuitState());
+        assertEquals(25.0, limiter.getStats().getFailureRate(), 0.001);
+
+        complete(limiter, true);
+
+        assertEquals("open", limiter.getStats().getCircuitState());
+    }
+
+    @Test
+    public void closesTheCircuitWhenTheTrialCallSucceeds() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(10, 10, 1000, 1, 100, 0));
+        complete(limiter, true);
+
+        AdmissionControl.Permit trial = limiter.acquire();
+        assertEquals("half_open", limiter.getStats().getCircuitState());
+        assertRejected(limiter, UpstreamRejectedException.Reason.CIRCUIT_OPEN);
+        trial.release(false);
+
+        assertEquals("closed", limiter.getStats().getCircuitState());
+        limiter.acquire();
+        limiter.acquire();
+    }
+
+    @Test
+    public void opensTheCircuitAgainWhenTheTrialCallFails() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(10, 10, 1000, 1, 100, 0));
+        complete(limiter, true);
+        AdmissionControl.Permit trial = limiter.acquire();
+        limiter.configure(limits(10, 10, 1000, 1, 100, 60));
+
+        trial.release(true);
+
+        assertEquals("open", limiter.getStats().getCircuitState());
+        assertRejected(limiter, UpstreamRejectedException.Reason.CIRCUIT_OPEN);
+    }
+
+    @Test
+    public void doesNotRecordCancelledCalls() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(1, 0, 1000, 1, 100, 60));
+
+        limiter.acquire().cancel();
+
+        AdmissionStats stats = limiter.getStats();
+        assertEquals("closed", stats.getCircuitState());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(0.0, stats.getFailureRate(), 0.001);
+        limiter.acquire();
+    }
+
+    @Test
+    public void handsTheTrialOverWhenTheTrialCallIsCancelled() throws Exception {
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN, limits(10, 10, 1000, 1, 100, 0));
+        complete(limiter, true);
+
+        limiter.acquire().cancel();
+
+        AdmissionControl.Permit trial = limiter.acquire();
+        assertEquals("half_open", limiter.getStats().getCircuitState());
+        trial.release(false);
+        assertEquals("closed", limiter.getStats().getCircuitState());
+    }
+
+    @Test
+    public void letsEveryCallThroughWhenDisabled() throws Exception {
+        Map<String, Object> config = new HashMap<>();
+        config.put("enabled", false);
+        config.put("maxConcurrent", 1);
+        UpstreamLimiter limiter = new UpstreamLimiter(Upstream.TOKEN,
+                new AdmissionControl.Limits(config, AdmissionControl.Limits.DEFAULT));
+
+        assertSame(AdmissionControl.Permit.UNLIMITED, limiter.acquire());
+        assertSame(AdmissionControl.Permit.UNLIMITED, limiter.acquire());
+        assertEquals("disabled", limiter.getStats().getCircuitState());
+    }
+
+    private static AdmissionControl.Limits limits(int maxConcurrent, int maxQueue, long queueTimeout, int windowSize,
+                                                  int failureRateThreshold, long openDuration) {
+        Map<String, Object> circuitBreaker = new HashMap<>();
+        circuitBreaker.put("windowSize", windowSize);
+        circuitBreaker.put("failureRateThreshold", failureRateThreshold);
+        circuitBreaker.put("openDuration", openDuration);
+        Map<String, Object> config = new HashMap<>();
+        config.put("maxConcurrent", maxConcurrent);
+        config.put("maxQueue", maxQueue);
+        config.put("queueTimeout", queueTimeout);
+        config.put("circuitBreaker", circuitBreaker);
+        return new AdmissionControl.Limits(config, AdmissionControl.Limits.DEFAULT);
+    }
+
+    /**
+     * Sends a call per given outcome, one after the other.
+     */
+    private static void complete(UpstreamLimiter limiter, boolean... failed) throws Exception {
+        for (boolean outcome : failed) {
+            limiter.acquire().release(outcome);
+        }
+    }
+
+    private static void assertRejected(UpstreamLimiter limiter, UpstreamRejectedException.Reason reason)
+            throws InterruptedException {
+        try {
+            limiter.acquire();
+            fail("The call was not rejected with " + reason);
+        } catch (UpstreamRejectedException e) {
+            assertEquals(reason, e.getReason());
+        }
+    }
+
+    private static void awaitQueued(UpstreamLimiter limiter, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getStats().getQueued() < queued) {
+            if (System.nanoTime() > deadline) {
+                fail("The call was not queued");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.devportal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+import org.wso2.carbon.registry.api.RegistryException;
+
+/**
+ * Devportal specifics of the services shared by the portals
+ */
+public class DevportalPortal implements Portal {
+
+    private static final Log log = LogFactory.getLog(DevportalPortal.class);
+
+    private static final String[] LEGACY_CLIENT_APP_NAMES = {"admin_store"};
+    private static final List<String> SETTINGS_API_PATHS = Collections.singletonList("/api/am/devportal/v3/settings");
+    private static final String SUPER_TENANT_SUFFIX = "@carbon.super";
+
+    @Override
+    public String getDisplayName() {
+        return "devportal";
+    }
+
+    @Override
+    public String getSettingsPath() {
+        return "site/public/theme/settings.json";
+    }
+
+    @Override
+    public String getClientAppName() {
+        return "apim_devportal";
+    }
+
+    @Override
+    public String[] getLegacyClientAppNames() {
+        return LEGACY_CLIENT_APP_NAMES.clone();
+    }
+
+    @Override
+    public String getContext(HttpServletRequest request, Map settings) throws APIManagementException {
+        return Util.getTenantBaseStoreContext(request, Util.readJsonString(settings, "app.context"));
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(HttpServletRequest request) throws APIManagementException {
+        try {
+            return Util.getServiceProviderTenantDomain(request);
+        } catch (RegistryException e) {
+            throw new APIManagementException("Error while resolving the service provider tenant", e);
+        }
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(TenantContext tenantContext) throws APIManagementException {
+        return Util.getServiceProviderTenantDomain(tenantContext);
+    }
+
+    @Override
+    public void warmUp(TenantContext tenantContext) throws APIManagementException {
+        Util.warmUp(tenantContext);
+    }
+
+    @Override
+    public List<String> getSettingsApiPaths() {
+        return SETTINGS_API_PATHS;
+    }
+
+    @Override
+    public String getLoopbackOrigin(String host) {
+        return Util.getLoopbackOrigin(host);
+    }
+
+    @Override
+    public String getUserInfoAuthorization(String token) {
+        return "Bearer " + token;
+    }
+
+    @Override
+    public Map<String, String> getApiAccessTokenCookies() {
+        return Collections.singletonMap("/api/am/devportal/", "AM_ACC_TOKEN_DEFAULT_P2");
+    }
+
+    /**
+     * Drops the super tenant domain from the username, unless it is needed to tell an email username apart.
+     */
+    @Override
+    public Map introspected(Map introspection) {
+        String username = (String) introspection.get("username");
+        if (username == null || username.isEmpty()) {
+            log.warn("Username is undefined in the introspect response.");
+            return null;
+        }
+        int count = (int) username.chars().filter(ch -> ch == '@').count();
+        if (Util.isEnableEmailUserName() || (username.indexOf(SUPER_TENANT_SUFFIX) > 0 && count <= 1)) {
+            introspection.put("username", username.replace(SUPER_TENANT_SUFFIX, ""));
+        }
+        return introspection;
+    }
+}
@@ -17,19 +17,17 @@
  */
 package org.wso2.carbon.apimgt.ui.devportal;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 
 import org.wso2.carbon.apimgt.api.APIManagementException;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+import org.wso2.carbon.apimgt.ui.common.config.ConfigStore;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
 import org.wso2.carbon.utils.CarbonUtils;
 
@@ -38,18 +36,22 @@ import org.wso2.carbon.utils.CarbonUtils;
  */
 public class Util {
 
+    private static final TenantContext.Key<String> TENANT_BASED_CONTEXT = new TenantContext.Key<>("context");
+    private static final TenantContext.Key<Map> DOMAIN_MAPPING = new TenantContext.Key<>("domainMapping");
+    private static final TenantContext.Key<Boolean> PER_TENANT_SERVICE_PROVIDER_ENABLED =
+            new TenantContext.Key<>("perTenantServiceProviderEnabled");
+
     /**
-     * Read a json file from the directory and output as a Map object.
+     * Read a json file from the directory and output as a Map object. <br>
+     * The file is parsed once and shared between requests; the returned map is a copy-on-write view of it, hence
+     * changes done to the map are visible to the caller only.
      * @param path    path to the json file
      * @param context servlet context of the web application
      * @return map of read json file
      * @throws FileNotFoundException if the file is not found in the given path
      */
     public static Map<String, Object> readJsonFile(String path, ServletContext context) throws FileNotFoundException {
-        String realPath = context.getRealPath(path);
-        BufferedReader bufferedReader = new BufferedReader(new FileReader(realPath));
-        Gson gson = (new GsonBuilder()).setPrettyPrinting().create();
-        return (Map) gson.fromJson(bufferedReader, Map.class);
+        return ConfigStore.getInstance().get(context.getRealPath(path)).view();
     }
 
     /**
@@ -59,20 +61,38 @@ public class Util {
      * @return value in the given path of the nested tree map
      */
     public static Object readJsonObj(Map json, String path) {
-        String[] pathStrings = path.split("\\.");
-        Map nestedJson = json;
+        return JsonPath.compile(path).get(json);
+    }
 
-        for (String pathString : Arrays.copyOfRange(pathStrings, 0, pathStrings.length - 1)) {
-            if (!nestedJson.containsKey(pathString)) {
-                return null;
-            }
-            nestedJson = (Map) nestedJson.get(pathString);
-        }
+    /**
+     * Returns the string value in the given path of the nested tree map.
+     * @param json json object to be read
+     * @param path path to the required value separated by "." for each level
+     * @return string value in the given path, or null if it is missing or not a string
+     */
+    public static String readJsonString(Map json, String path) {
+        return JsonPath.compile(path).getString(json);
+    }
 
-        if (!nestedJson.containsKey(pathStrings[pathStrings.length - 1])) {
-            return null;
-        }
-        return nestedJson.get(pathStrings[pathStrings.length - 1]);
+    /**
+     * Returns the boolean value in the given path of the nested tree map.
+     * @param json         json object to be read
+     * @param path         path to the required value separated by "." for each level
+     * @param defaultValue value to be returned if the value is missing or not a boolean
+     * @return boolean value in the given path
+     */
+    public static boolean readJsonBoolean(Map json, String path, boolean defaultValue) {
+        return JsonPath.compile(path).getBoolean(json, defaultValue);
+    }
+
+    /**
+     * Returns the list in the given path of the nested tree map.
+     * @param json json object to be read
+     * @param path path to the required value separated by "." for each level
+     * @return list in the given path, or null if it is missing or not a list
+     */
+    public static <T> List<T> readJsonList(Map json, String path) {
+        return JsonPath.compile(path).getList(json);
     }
 
     /**
@@ -96,14 +116,12 @@ public class Util {
     }
 
     public static String getTenantBaseStoreContext(HttpServletRequest request, String context) throws APIManagementException {
-        String tenantDomain = getTenantDomain(request);
-        String tenantContext = APIUtil.getTenantBasedDevPortalContext(tenantDomain);
+        String tenantContext = getTenantContext(request).get(TENANT_BASED_CONTEXT, APIUtil::getTenantBasedDevPortalContext);
         return tenantContext != null ? tenantContext : context;
     }
 
     public static String getTenantBasedLoginCallBack(HttpServletRequest request, String loginSuffix) throws APIManagementException {
-        String tenantDomain = getTenantDomain(request);
-        Map storeDomainMapping = APIUtil.getTenantBasedStoreDomainMapping(tenantDomain);
+        Map storeDomainMapping = getDomainMapping(request);
         if (storeDomainMapping != null) {
             if (storeDomainMapping.get("login") != null) {
                 return (String) storeDomainMapping.get("login");
@@ -115,8 +133,7 @@ public class Util {
     }
 
     public static String getTenantBasedLogoutCallBack(HttpServletRequest request, String logoutSuffix) throws APIManagementException {
-        String tenantDomain = getTenantDomain(request);
-        Map storeDomainMapping = APIUtil.getTenantBasedStoreDomainMapping(tenantDomain);
+        Map storeDomainMapping = getDomainMapping(request);
         if (storeDomainMapping != null) {
             if (storeDomainMapping.get("logout") != null) {
                 return (String) storeDomainMapping.get("logout");
@@ -128,19 +145,36 @@ public class Util {
     }
 
     public static boolean isPerTenantServiceProviderEnabled(HttpServletRequest request) throws APIManagementException, RegistryException {
-        String tenantDomain = getTenantDomain(request);
-        return APIUtil.isPerTenantServiceProviderEnabled(tenantDomain);
+        return isPerTenantServiceProviderEnabled(getTenantContext(request));
     }
 
-    public static String getTenantDomain(HttpServletRequest request) {
-        String tenantDomain = request.getParameter("tenant");
-        if (tenantDomain == null) {
-            tenantDomain = request.getHeader("X-WSO2-Tenant");
-            if (tenantDomain == null) {
-                tenantDomain = "carbon.super";
+    private static boolean isPerTenantServiceProviderEnabled(TenantContext tenantContext) throws APIManagementException {
+        return tenantContext.get(PER_TENANT_SERVICE_PROVIDER_ENABLED, tenantDomain -> {
+            try {
+                return APIUtil.isPerTenantServiceProviderEnabled(tenantDomain);
+            } catch (RegistryException e) {
+                throw new APIManagementException("Error while reading the service provider configuration of tenant "
+                        + tenantDomain, e);
             }
-        }
-        return tenantDomain;
+        });
+    }
+
+    /**
+     * Returns the tenant context of the request. The tenant is resolved once per request and the tenant specific
+     * values are shared between the requests of the tenant for a short time.
+     * @param request current request
+     * @return tenant context of the request
+     */
+    public static TenantContext getTenantContext(HttpServletRequest request) {
+        return TenantContext.get(request, Util::getTenantDomain);
+    }
+
+    private static Map getDomainMapping(HttpServletRequest request) throws APIManagementException {
+        return getTenantContext(request).get(DOMAIN_MAPPING, APIUtil::getTenantBasedStoreDomainMapping);
+    }
+
+    public static String getTenantDomain(HttpServletRequest request) {
+        return TenantContext.resolveTenantDomain(request);
     }
 
     public static String getCustomUrlEnabledDomain(HttpServletRequest request) {
@@ -148,8 +182,7 @@ public class Util {
     }
 
     public static String getTenantBasedCustomUrl(HttpServletRequest request) throws APIManagementException {
-        String tenantDomain = getTenantDomain(request);
-        Map storeDomainMapping = APIUtil.getTenantBasedStoreDomainMapping(tenantDomain);
+        Map storeDomainMapping = getDomainMapping(request);
         if (storeDomainMapping != null) {
             return "https://" + storeDomainMapping.get("customUrl");
         } else {
@@ -158,14 +191,27 @@ public class Util {
     }
 
     public static String getServiceProviderTenantDomain(HttpServletRequest request) throws APIManagementException, RegistryException {
-        String tenantDomain = getTenantDomain(request);
-        if (isPerTenantServiceProviderEnabled(request)) {
-            return tenantDomain;
+        return getServiceProviderTenantDomain(getTenantContext(request));
+    }
+
+    public static String getServiceProviderTenantDomain(TenantContext tenantContext) throws APIManagementException {
+        if (isPerTenantServiceProviderEnabled(tenantContext)) {
+            return tenantContext.getTenantDomain();
         } else {
             return "carbon.super";
         }
     }
 
+    /**
+     * Loads the tenant based context and the domain mapping of the given tenant, ahead of its first login.
+     * @param tenantContext context of the tenant
+     * @throws APIManagementException if the tenant configuration could not be read
+     */
+    public static void warmUp(TenantContext tenantContext) throws APIManagementException {
+        tenantContext.get(TENANT_BASED_CONTEXT, APIUtil::getTenantBasedDevPortalContext);
+        tenantContext.get(DOMAIN_MAPPING, APIUtil::getTenantBasedStoreDomainMapping);
+    }
+
     public static boolean isEnableEmailUserName() {
         boolean isEnableEmailUserName = Boolean.parseBoolean(CarbonUtils.getServerConfiguration().getFirstProperty("EnableEmailUserName"));
         if (isEnableEmailUserName) {
@@ -18,10 +18,12 @@
 
 <%@page import="org.apache.commons.logging.LogFactory"%>
 <%@page import="org.apache.commons.logging.Log"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.auth.IntrospectionCache"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.auth.TokenCookies"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.ForwardedHostValidator"%>
 <%@page import="org.wso2.carbon.apimgt.impl.IDPConfiguration"%>
 <%@page import="org.wso2.carbon.apimgt.impl.utils.APIUtil"%>
 <%@page import="org.wso2.carbon.apimgt.ui.devportal.Util"%>
-<%@page import="java.util.List"%>
 <%@page import="java.util.Map"%>
 <%@include file="../constants.jsp" %>
 
@@ -54,6 +56,10 @@
         }
     }
 
+    // the access token is being logged out, hence it should not be served from the introspection cache anymore
+    IntrospectionCache.get(request.getServletContext()).invalidate(
+            TokenCookies.join(cookies, TokenCookies.ACCESS_TOKEN_P1, TokenCookies.ACCESS_TOKEN_P2));
+
     String idToken = "";
     if (!idTokenP1Cookie.isEmpty() && !idTokenP2Cookie.isEmpty()) {
         idToken = idTokenP1Cookie + idTokenP2Cookie;
@@ -61,36 +67,18 @@
 
     String serverUrl = "";
     String forwarded_for = request.getHeader((String) Util.readJsonObj(settings, "app.customUrl.forwardedHeader"));
-    boolean customUrlEnabled = (boolean) Util.readJsonObj(settings, "app.customUrl.enabled");
+    boolean customUrlEnabled = Util.readJsonBoolean(settings, "app.customUrl.enabled", false);
     // Host validation against app.customUrl.allowedHosts
     boolean isHostValid = true;
     if (customUrlEnabled && forwarded_for != null && !forwarded_for.isEmpty()) {
-        // Check if allowedHosts is configured
-        List<String> allowedHosts = (List<String>) Util.readJsonObj(settings, "app.customUrl.allowedHosts");
-
-        if (allowedHosts != null && !allowedHosts.isEmpty()) {
-            // Extract hostname from forwarded_for (remove port if present)
-            String forwardedHost = forwarded_for;
-            if (forwardedHost.contains(":")) {
-                forwardedHost = forwardedHost.substring(0, forwardedHost.indexOf(":"));
-            }
-
-            isHostValid = false;
-            for (String allowedHost : allowedHosts) {
-                if (allowedHost != null && allowedHost.equalsIgnoreCase(forwardedHost)) {
-                    isHostValid = true;
-                    break;
-                }
-            }
-
-            if (!isHostValid) {
-                log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
-                response.setStatus(400);
-                response.setContentType("text/html");
-                out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
-                    "<h4>Host validation failed for the request</h4></body></html>");
-                return;
-            }
+        isHostValid = ForwardedHostValidator.get(settings).isAllowed(forwarded_for);
+        if (!isHostValid) {
+            log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
+            response.setStatus(400);
+            response.setContentType("text/html");
+            out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
+                "<h4>Host validation failed for the request</h4></body></html>");
+            return;
         }
     }
 
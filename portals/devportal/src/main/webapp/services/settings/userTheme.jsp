@@ -19,17 +19,14 @@
 
 <%@page import="org.wso2.carbon.apimgt.ui.devportal.Util"%>
 <%@page import="java.util.Map"%>
-<%@page import="com.google.gson.GsonBuilder"%>
-<%@page import="com.google.gson.Gson"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.CachedScript"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.ScriptResponseCache"%>
 
 <%@ page trimDirectiveWhitespaces="true" %>
 
 <%
     Map theme = Util.readJsonFile("site/public/theme/userTheme.json", request.getServletContext());
-    response.setContentType("application/javascript; charset=UTF-8");
-
-    Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    String content = "const Configurations = " + gson.toJson(theme) + ";";
-
-    out.println(content);
+    CachedScript script = ScriptResponseCache.getInstance().get("devportal|userTheme",
+            ScriptResponseCache.fingerprint(theme), () -> ScriptResponseCache.toScript("Configurations", theme));
+    script.send(request, response);
 %>
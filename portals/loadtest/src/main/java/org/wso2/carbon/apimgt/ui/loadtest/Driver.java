@@ -0,0 +1,288 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO;
+import org.wso2.carbon.apimgt.ui.common.auth.TokenCookies;
+
+/**
+ * Runs the simulated users of the load test. Each user goes through sessions until the test ends: it logs in at
+ * the token endpoint of the key manager the way the login callback does, bootstraps the portal with the introspect
+ * service, keeps its session alive with the refresh service (introspecting again after each refresh, as every tab
+ * load does) and finally logs out by revoking its tokens. A failed step ends the session of the user.
+ */
+final class Driver {
+
+    /**
+     * Steps of a session, login and logout only involve the key manager.
+     */
+    enum Step {
+        LOGIN, INTROSPECT, REFRESH, LOGOUT
+    }
+
+    private static final Gson GSON = new Gson();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final LoadTestConfig config;
+    private final String portalOrigin;
+    private final String keyManagerOrigin;
+    private final Map<String, SystemApplicationDTO> applications;
+    private final HttpClient client;
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    /**
+     * @param config           options of the load test
+     * @param portalOrigin     origin of the embedded portals
+     * @param keyManagerOrigin origin of the stub key manager
+     * @param applications     system application of each tenant, by tenant domain
+     */
+    Driver(LoadTestConfig config, String portalOrigin, String keyManagerOrigin,
+           Map<String, SystemApplicationDTO> applications) {
+        this.config = config;
+        this.portalOrigin = portalOrigin;
+        this.keyManagerOrigin = keyManagerOrigin;
+        this.applications = applications;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Runs the users for the warm up and the measured duration.
+     * @return results of the steps, measured after the warm up
+     * @throws InterruptedException if interrupted while waiting for the users
+     */
+    List<LatencyRecorder.StepResult> run() throws InterruptedException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < config.users; i++) {
+            User user = new User(i);
+            users.add(user);
+            user.thread.start();
+        }
+        TimeUnit.SECONDS.sleep(config.warmupSeconds);
+        measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(config.durationSeconds);
+        measuring = false;
+        long duration = System.nanoTime() - start;
+        stopped = true;
+        for (User user : users) {
+            user.thread.join();
+        }
+        List<LatencyRecorder.StepResult> results = new ArrayList<>();
+        for (Step step : Step.values()) {
+            List<LatencyRecorder> recorders = new ArrayList<>();
+            for (User user : users) {
+                recorders.add(user.recorders[step.ordinal()]);
+            }
+            results.add(LatencyRecorder.merge(step.name().toLowerCase(), recorders, duration));
+        }
+        return results;
+    }
+
+    private final class User implements Runnable {
+
+        private final Thread thread;
+        private final String username;
+        private final String tenantDomain;
+        private final String portalContext;
+        private final String clientAuthorization;
+        private final LatencyRecorder[] recorders = new LatencyRecorder[Step.values().length];
+        private final Map<String, String> cookies = new HashMap<>();
+
+        private User(int index) {
+            this.username = "user" + index;
+            this.tenantDomain = LoadTestConfig.tenantDomain(index % config.tenants);
+            this.portalContext = "/" + config.portals.get(index % config.portals.size());
+            SystemApplicationDTO application = applications.get(tenantDomain);
+            this.clientAuthorization = "Basic " + Base64.getEncoder().encodeToString(
+                    (application.getConsumerKey() + ":" + application.getConsumerSecret())
+                            .getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < recorders.length; i++) {
+                recorders[i] = new LatencyRecorder();
+            }
+            this.thread = new Thread(this, "loadtest-user-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                cookies.clear();
+                if (!login()) {
+                    continue;
+                }
+                boolean alive = introspect();
+                for (int refresh = 0; alive && refresh < config.refreshesPerSession && !stopped; refresh++) {
+                    for (int i = 1; alive && i < config.introspectsPerRefresh; i++) {
+                        alive = introspect();
+                    }
+                    alive = alive && refresh() && introspect();
+                }
+                if (alive) {
+                    logout();
+                }
+            }
+        }
+
+        private boolean login() {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(keyManagerOrigin + StubKeyManager.TOKEN_PATH))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", clientAuthorization)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("grant_type=authorization_code&code="
+                            + URLEncoder.encode(username + " " + tenantDomain, StandardCharsets.UTF_8)))
+                    .build();
+            return execute(Step.LOGIN, request, response -> {
+                Map<?, ?> tokens = parse(response.body());
+                if (tokens == null || !(tokens.get("access_token") instanceof String)) {
+                    return false;
+                }
+                // the cookies the login callback sets from the token response
+                String accessToken = (String) tokens.get("access_token");
+                String refreshToken = (String) tokens.get("refresh_token");
+                cookies.put(TokenCookies.ACCESS_TOKEN_P1, TokenCookies.firstPart(accessToken));
+                cookies.put(TokenCookies.ACCESS_TOKEN_P2, TokenCookies.secondPart(accessToken));
+                cookies.put(TokenCookies.REFRESH_TOKEN_P1, TokenCookies.firstPart(refreshToken));
+                cookies.put(TokenCookies.REFRESH_TOKEN_P2, TokenCookies.secondPart(refreshToken));
+                return true;
+            });
+        }
+
+        private boolean introspect() {
+            HttpRequest request = portalRequest(PortalServer.INTROSPECT_PATH).GET().build();
+            return execute(Step.INTROSPECT, request, response -> {
+                Map<?, ?> introspection = parse(response.body());
+                return introspection != null && Boolean.TRUE.equals(introspection.get("active"));
+            });
+        }
+
+        private boolean refresh() {
+            HttpRequest request = portalRequest(PortalServer.REFRESH_PATH)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("refresh_token="
+                            + URLEncoder.encode(cookies.get(TokenCookies.REFRESH_TOKEN_P1), StandardCharsets.UTF_8)))
+                    .build();
+            return execute(Step.REFRESH, request, response -> {
+                Map<String, String> refreshed = new HashMap<>();
+                for (String setCookie : response.headers().allValues("Set-Cookie")) {
+                    int separator = setCookie.indexOf('=');
+                    int end = setCookie.indexOf(';');
+                    if (separator > 0) {
+                        refreshed.put(setCookie.substring(0, separator),
+                                setCookie.substring(separator + 1, end < 0 ? setCookie.length() : end));
+                    }
+                }
+                if (!refreshed.containsKey(TokenCookies.ACCESS_TOKEN_P2)
+                        || !refreshed.containsKey(TokenCookies.REFRESH_TOKEN_P2)) {
+                    return false;
+                }
+                cookies.putAll(refreshed);
+                return true;
+            });
+        }
+
+        private boolean logout() {
+            String refreshToken = cookies.get(TokenCookies.REFRESH_TOKEN_P1)
+                    + cookies.get(TokenCookies.REFRESH_TOKEN_P2);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(keyManagerOrigin + StubKeyManager.REVOKE_PATH))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", clientAuthorization)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("token="
+                            + URLEncoder.encode(refreshToken, StandardCharsets.UTF_8)))
+                    .build();
+            return execute(Step.LOGOUT, request, response -> true);
+        }
+
+        private HttpRequest.Builder portalRequest(String path) {
+            StringBuilder cookieHeader = new StringBuilder();
+            for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+                if (cookieHeader.length() > 0) {
+                    cookieHeader.append("; ");
+                }
+                cookieHeader.append(cookie.getKey()).append('=').append(cookie.getValue());
+            }
+            return HttpRequest.newBuilder(URI.create(portalOrigin + portalContext + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Cookie", cookieHeader.toString())
+                    .header(LoadTestPortal.TENANT_HEADER, tenantDomain);
+        }
+
+        /**
+         * Sends the request of a step and records its latency, or an error if it did not succeed.
+         */
+        private boolean execute(Step step, HttpRequest request, Check check) {
+            LatencyRecorder recorder = recorders[step.ordinal()];
+            long start = System.nanoTime();
+            boolean succeeded;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                succeeded = response.statusCode() == 200 && check.test(response);
+            } catch (IOException e) {
+                succeeded = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+                return false;
+            }
+            if (measuring) {
+                if (succeeded) {
+                    recorder.record(System.nanoTime() - start);
+                } else {
+                    recorder.recordError();
+                }
+            }
+            return succeeded;
+        }
+    }
+
+    private static Map<?, ?> parse(String json) {
+        try {
+            return GSON.fromJson(json, Map.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Check {
+
+        boolean test(HttpResponse<String> response);
+    }
+}
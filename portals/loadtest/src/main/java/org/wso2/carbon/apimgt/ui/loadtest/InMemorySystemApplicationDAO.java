@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.wso2.carbon.apimgt.impl.dao.SystemApplicationDAO;
+import org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO;
+
+/**
+ * Keeps the system applications in memory instead of the AM_SYSTEM_APPS table, so the services run without a
+ * database.
+ */
+public class InMemorySystemApplicationDAO extends SystemApplicationDAO {
+
+    private final Map<String, SystemApplicationDTO> applications = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean addApplicationKey(String appName, String consumerKey, String consumerSecret,
+                                     String tenantDomain) {
+        SystemApplicationDTO application = new SystemApplicationDTO();
+        application.setName(appName);
+        application.setConsumerKey(consumerKey);
+        application.setConsumerSecret(consumerSecret);
+        application.setTenantDomain(tenantDomain);
+        return applications.putIfAbsent(key(appName, tenantDomain), application) == null;
+    }
+
+    @Override
+    public SystemApplicationDTO getClientCredentialsForApplication(String appName, String tenantDomain) {
+        return applications.get(key(appName, tenantDomain));
+    }
+
+    @Override
+    public boolean isPKCEEnabled(String consumerKey) {
+        return false;
+    }
+
+    @Override
+    public boolean isBypassClientCredentials(String consumerKey) {
+        return false;
+    }
+
+    private static String key(String appName, String tenantDomain) {
+        return appName + '@' + tenantDomain;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies of a step recorded by a single simulated user, merged with the recordings of the other users when the
+ * load test completes. Every latency is kept, so the percentiles are exact.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    /**
+     * Merges the recordings of all users of a step.
+     * @param name          name of the step
+     * @param recorders     recorders of the users
+     * @param durationNanos measured duration
+     * @return summary of the step
+     */
+    static StepResult merge(String name, List<LatencyRecorder> recorders, long durationNanos) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+            errors += recorder.errors;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, merged, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(merged);
+        long sum = 0;
+        for (long latency : merged) {
+            sum += latency;
+        }
+        StepResult result = new StepResult();
+        result.step = name;
+        result.requests = total;
+        result.errors = errors;
+        result.requestsPerSecond = total / (durationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        result.meanMillis = total == 0 ? 0 : toMillis(sum / total);
+        result.p50Millis = percentile(merged, 0.5);
+        result.p90Millis = percentile(merged, 0.9);
+        result.p99Millis = percentile(merged, 0.99);
+        result.maxMillis = total == 0 ? 0 : toMillis(merged[total - 1]);
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Summary of a step, also written to the json report.
+     */
+    static final class StepResult {
+
+        String step;
+        long requests;
+        long errors;
+        double requestsPerSecond;
+        double meanMillis;
+        double p50Millis;
+        double p90Millis;
+        double p99Millis;
+        double maxMillis;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO;
+
+/**
+ * Offline load test of the portal auth services. Starts the stub key manager and the embedded portals, registers
+ * the system application of every tenant, runs the simulated users and prints the throughput and the latency
+ * percentiles of each step. Exits with 1 when the ratio of failed steps is above -maxErrorRate, so it can gate a
+ * CI build.
+ */
+public final class LoadTest {
+
+    private static final int REGISTRATION_ATTEMPTS = 5;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (config.help) {
+            System.out.println(LoadTestConfig.USAGE);
+            return;
+        }
+        System.exit(run(config) ? 0 : 1);
+    }
+
+    /**
+     * Runs the load test.
+     * @param config options of the load test
+     * @return whether the ratio of failed steps is within the allowed error rate
+     */
+    static boolean run(LoadTestConfig config) throws Exception {
+        InMemorySystemApplicationDAO systemApplicationDAO = new InMemorySystemApplicationDAO();
+        try (StubKeyManager keyManager = new StubKeyManager(config)) {
+            keyManager.start();
+            String keyManagerOrigin = "http://" + keyManager.getHost();
+            Map<String, SystemApplicationDTO> applications = new HashMap<>();
+            for (int tenant = 0; tenant < config.tenants; tenant++) {
+                String tenantDomain = LoadTestConfig.tenantDomain(tenant);
+                applications.put(tenantDomain, register(keyManagerOrigin, tenantDomain, systemApplicationDAO));
+            }
+            try (PortalServer server = new PortalServer(config, keyManager.getHost(), systemApplicationDAO)) {
+                server.start();
+                if (!server.awaitReady(TimeUnit.SECONDS.toMillis(30))) {
+                    throw new IllegalStateException("The portals did not warm up within 30s");
+                }
+                System.out.printf(Locale.ROOT, "Running %d users over %d tenants and %s for %ds after a %ds warm up"
+                                + " (key manager latency %d+%dms, error rate %.3f, %s tokens)%n", config.users,
+                        config.tenants, config.portals, config.durationSeconds, config.warmupSeconds,
+                        config.latencyMillis, config.jitterMillis, config.errorRate,
+                        config.jwtTokens ? "JWT" : "opaque");
+                List<LatencyRecorder.StepResult> results = new Driver(config, server.getOrigin(), keyManagerOrigin,
+                        applications).run();
+                return report(config, results, keyManager);
+            }
+        }
+    }
+
+    /**
+     * Registers the system application of the given tenant with the DCR endpoint and stores it, the way idp.jsp
+     * does on the first login to a tenant.
+     */
+    private static SystemApplicationDTO register(String keyManagerOrigin, String tenantDomain,
+                                                 InMemorySystemApplicationDAO systemApplicationDAO)
+            throws IOException, InterruptedException {
+        Gson gson = new Gson();
+        Map<String, Object> registration = new LinkedHashMap<>();
+        registration.put("clientName", LoadTestPortal.CLIENT_APP_NAME);
+        registration.put("owner", "admin@" + tenantDomain);
+        registration.put("grantType", "authorization_code refresh_token");
+        registration.put("saasApp", true);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(keyManagerOrigin + StubKeyManager.DCR_PATH))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(registration)))
+                .build();
+        HttpClient client = HttpClient.newHttpClient();
+        for (int attempt = 1; ; attempt++) {
+            // the stub fails registrations too when an error rate is set
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 201) {
+                Map<?, ?> application = gson.fromJson(response.body(), Map.class);
+                systemApplicationDAO.addApplicationKey(LoadTestPortal.CLIENT_APP_NAME,
+                        (String) application.get("clientId"), (String) application.get("clientSecret"),
+                        tenantDomain);
+                return systemApplicationDAO.getClientCredentialsForApplication(LoadTestPortal.CLIENT_APP_NAME,
+                        tenantDomain);
+            }
+            if (attempt == REGISTRATION_ATTEMPTS) {
+                throw new IOException("Could not register the system application of " + tenantDomain
+                        + ", DCR responded with " + response.statusCode());
+            }
+        }
+    }
+
+    private static boolean report(LoadTestConfig config, List<LatencyRecorder.StepResult> results,
+                                  StubKeyManager keyManager) throws IOException {
+        long requests = 0;
+        long errors = 0;
+        double throughput = 0;
+        System.out.printf(Locale.ROOT, "%-12s %10s %8s %10s %9s %9s %9s %9s %9s%n", "step", "requests", "errors",
+                "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (LatencyRecorder.StepResult result : results) {
+            requests += result.requests;
+            errors += result.errors;
+            throughput += result.requestsPerSecond;
+            System.out.printf(Locale.ROOT, "%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", result.step,
+                    result.requests, result.errors, result.requestsPerSecond, result.meanMillis, result.p50Millis,
+                    result.p90Millis, result.p99Millis, result.maxMillis);
+        }
+        double errorRate = requests + errors == 0 ? 1 : errors / (double) (requests + errors);
+        System.out.printf(Locale.ROOT, "total %.1f req/s, error rate %.4f, %d key manager calls of which %d failed"
+                + " on purpose%n", throughput, errorRate, keyManager.getCallCount(), keyManager.getFailureCount());
+
+        if (config.reportFile != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("users", config.users);
+            report.put("tenants", config.tenants);
+            report.put("portals", config.portals);
+            report.put("durationSeconds", config.durationSeconds);
+            report.put("jwtTokens", config.jwtTokens);
+            report.put("requestsPerSecond", throughput);
+            report.put("errorRate", errorRate);
+            report.put("steps", results);
+            Files.write(Paths.get(config.reportFile), new GsonBuilder().setPrettyPrinting().create().toJson(report)
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        if (errorRate > config.maxErrorRate) {
+            System.out.printf(Locale.ROOT, "Error rate %.4f is above the allowed %.4f%n", errorRate,
+                    config.maxErrorRate);
+            return false;
+        }
+        return true;
+    }
+}
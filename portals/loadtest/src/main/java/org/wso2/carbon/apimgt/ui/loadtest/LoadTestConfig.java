@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Options of the load test, read from the command line arguments.
+ */
+final class LoadTestConfig {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar loadtest.jar [options]",
+            "  -users <n>                 concurrent simulated users (default 50)",
+            "  -tenants <n>               tenants the users are spread over (default 4)",
+            "  -portals <names>           comma separated portal contexts (default publisher)",
+            "  -duration <seconds>        measured duration (default 30)",
+            "  -warmup <seconds>          duration before the measurement starts (default 10)",
+            "  -introspects <n>           introspections per token refresh of a session (default 3)",
+            "  -refreshes <n>             token refreshes per session before logging out (default 2)",
+            "  -latency <ms>              mean latency of the stub key manager (default 5)",
+            "  -jitter <ms>               maximum random latency added to the mean (default 5)",
+            "  -errorRate <ratio>         ratio of stub key manager calls failing with 500 (default 0)",
+            "  -jwt                       issue JWT access tokens instead of opaque ones",
+            "  -maxErrorRate <ratio>      exit with 1 when the ratio of failed steps is above it (default 0.01)",
+            "  -report <file>             also write the results as json to the given file",
+            "  -help                      print this help");
+
+    int users = 50;
+    int tenants = 4;
+    List<String> portals = Arrays.asList("publisher");
+    long durationSeconds = 30;
+    long warmupSeconds = 10;
+    int introspectsPerRefresh = 3;
+    int refreshesPerSession = 2;
+    long latencyMillis = 5;
+    long jitterMillis = 5;
+    double errorRate = 0;
+    boolean jwtTokens;
+    double maxErrorRate = 0.01;
+    String reportFile;
+    boolean help;
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            switch (option) {
+                case "-help":
+                    config.help = true;
+                    break;
+                case "-jwt":
+                    config.jwtTokens = true;
+                    break;
+                default:
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Missing value of " + option);
+                    }
+                    config.set(option, args[++i]);
+            }
+        }
+        if (config.users < 1 || config.tenants < 1 || config.durationSeconds < 1 || config.portals.isEmpty()) {
+            throw new IllegalArgumentException("users, tenants, duration and portals have to be positive");
+        }
+        return config;
+    }
+
+    private void set(String option, String value) {
+        try {
+            switch (option) {
+                case "-users":
+                    users = Integer.parseInt(value);
+                    break;
+                case "-tenants":
+                    tenants = Integer.parseInt(value);
+                    break;
+                case "-portals":
+                    portals = Arrays.asList(value.split("\\s*,\\s*"));
+                    break;
+                case "-duration":
+                    durationSeconds = Long.parseLong(value);
+                    break;
+                case "-warmup":
+                    warmupSeconds = Long.parseLong(value);
+                    break;
+                case "-introspects":
+                    introspectsPerRefresh = Integer.parseInt(value);
+                    break;
+                case "-refreshes":
+                    refreshesPerSession = Integer.parseInt(value);
+                    break;
+                case "-latency":
+                    latencyMillis = Long.parseLong(value);
+                    break;
+                case "-jitter":
+                    jitterMillis = Long.parseLong(value);
+                    break;
+                case "-errorRate":
+                    errorRate = Double.parseDouble(value);
+                    break;
+                case "-maxErrorRate":
+                    maxErrorRate = Double.parseDouble(value);
+                    break;
+                case "-report":
+                    reportFile = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' of " + option, e);
+        }
+    }
+
+    /**
+     * @return tenant domain of the given tenant index, the first tenant is the super tenant
+     */
+    static String tenantDomain(int tenant) {
+        return tenant == 0 ? LoadTestPortal.SUPER_TENANT_DOMAIN : "tenant" + tenant + ".com";
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+
+import org.wso2.carbon.apimgt.ui.common.auth.TokenCookies;
+import org.wso2.carbon.apimgt.ui.common.config.JsonPath;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+
+/**
+ * Portal of the load test. It resolves the tenant from the X-WSO2-Tenant header and calls the stub key manager at
+ * the app.origin.host of the settings, instead of reading them from the Carbon runtime.
+ */
+public class LoadTestPortal implements Portal {
+
+    static final String SUPER_TENANT_DOMAIN = "carbon.super";
+    static final String CLIENT_APP_NAME = "apim_loadtest";
+    static final String TENANT_HEADER = "X-WSO2-Tenant";
+    static final String ADMIN_CREDENTIALS = "admin:admin";
+
+    static final String SETTINGS_API_PATH = "/api/am/loadtest/v1/settings";
+
+    private static final JsonPath CONTEXT = JsonPath.compile("app.context");
+
+    @Override
+    public String getDisplayName() {
+        return "load test portal";
+    }
+
+    @Override
+    public String getSettingsPath() {
+        return "/site/public/conf/settings.json";
+    }
+
+    @Override
+    public String getClientAppName() {
+        return CLIENT_APP_NAME;
+    }
+
+    @Override
+    public String[] getLegacyClientAppNames() {
+        return new String[0];
+    }
+
+    @Override
+    public String getContext(HttpServletRequest request, Map settings) {
+        return CONTEXT.getString(settings);
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(HttpServletRequest request) {
+        return TenantContext.get(request, LoadTestPortal::getTenantDomain).getTenantDomain();
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(TenantContext tenantContext) {
+        return tenantContext.getTenantDomain();
+    }
+
+    @Override
+    public boolean isTenant(String tenantDomain) {
+        // the stub key manager serves any tenant
+        return true;
+    }
+
+    @Override
+    public List<String> getSettingsApiPaths() {
+        return Collections.singletonList(SETTINGS_API_PATH);
+    }
+
+    @Override
+    public String getLoopbackOrigin(String host) {
+        return "http://" + host;
+    }
+
+    @Override
+    public String getUserInfoAuthorization(String token) {
+        return "Bearer " + token;
+    }
+
+    @Override
+    public String getAdminAuthorization() {
+        return "Basic " + Base64.getEncoder().encodeToString(ADMIN_CREDENTIALS.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Map<String, String> getApiAccessTokenCookies() {
+        return Collections.singletonMap("/api/am/loadtest/", TokenCookies.ACCESS_TOKEN_P2);
+    }
+
+    @Override
+    public Map introspected(Map introspection) {
+        return introspection;
+    }
+
+    private static String getTenantDomain(HttpServletRequest request) {
+        String tenant = request.getHeader(TENANT_HEADER);
+        return tenant == null || tenant.isEmpty() ? SUPER_TENANT_DOMAIN : tenant;
+    }
+}
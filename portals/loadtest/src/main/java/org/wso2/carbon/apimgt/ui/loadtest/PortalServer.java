@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.servlet.Servlet;
+
+import com.google.gson.Gson;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.wso2.carbon.apimgt.impl.dao.SystemApplicationDAO;
+import org.wso2.carbon.apimgt.ui.common.auth.SystemApplicationCache;
+import org.wso2.carbon.apimgt.ui.common.http.LoopbackHttpClientListener;
+import org.wso2.carbon.apimgt.ui.common.metrics.MetricsServlet;
+import org.wso2.carbon.apimgt.ui.common.metrics.ServiceMetricsFilter;
+import org.wso2.carbon.apimgt.ui.common.metrics.ServiceMetricsListener;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+import org.wso2.carbon.apimgt.ui.common.services.IntrospectServlet;
+import org.wso2.carbon.apimgt.ui.common.services.RefreshServlet;
+import org.wso2.carbon.apimgt.ui.common.services.ServiceExecutorListener;
+import org.wso2.carbon.apimgt.ui.common.warmup.PortalWarmupListener;
+import org.wso2.carbon.apimgt.ui.common.warmup.ReadinessServlet;
+
+/**
+ * Embedded Tomcat running a web application per portal with the services shared by the portals, wired the way
+ * the web.xml of the portals wires them. The service JSPs are not deployed, they need the Carbon runtime.
+ */
+final class PortalServer implements AutoCloseable {
+
+    static final String INTROSPECT_PATH = "/services/auth/introspect";
+    static final String REFRESH_PATH = "/services/refresh";
+    static final String READY_PATH = "/services/ready";
+
+    private static final Gson GSON = new Gson();
+
+    private final Path baseDir;
+    private final Tomcat tomcat;
+    private final List<String> portals;
+
+    PortalServer(LoadTestConfig config, String keyManagerHost, SystemApplicationDAO systemApplicationDAO)
+            throws IOException {
+        baseDir = Files.createTempDirectory("loadtest-tomcat");
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector().setProperty("address", "127.0.0.1");
+        // every simulated user has at most one request in flight
+        tomcat.getConnector().setProperty("maxThreads", String.valueOf(Math.max(200, config.users)));
+        tomcat.getConnector().setProperty("maxConnections", String.valueOf(Math.max(8192, config.users * 2)));
+        portals = config.portals;
+        List<String> tenantDomains = new ArrayList<>();
+        for (int tenant = 0; tenant < config.tenants; tenant++) {
+            tenantDomains.add(LoadTestConfig.tenantDomain(tenant));
+        }
+        for (String portal : config.portals) {
+            addPortal(portal, keyManagerHost, systemApplicationDAO, String.join(",", tenantDomains));
+        }
+    }
+
+    void start() throws LifecycleException {
+        tomcat.start();
+    }
+
+    /**
+     * Waits until every portal reports ready, that is its warm-up of the tenants is done.
+     * @param timeoutMillis maximum time to wait
+     * @return whether all the portals are ready
+     */
+    boolean awaitReady(long timeoutMillis) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (String portal : portals) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(getOrigin() + "/" + portal + READY_PATH)).build();
+            while (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(100);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return origin the portals are served at
+     */
+    String getOrigin() {
+        return "http://127.0.0.1:" + tomcat.getConnector().getLocalPort();
+    }
+
+    @Override
+    public void close() throws LifecycleException, IOException {
+        try {
+            tomcat.stop();
+            tomcat.destroy();
+        } finally {
+            try (Stream<Path> files = Files.walk(baseDir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    private void addPortal(String name, String keyManagerHost, SystemApplicationDAO systemApplicationDAO,
+                           String tenantDomains) throws IOException {
+        Path docBase = baseDir.resolve("webapps").resolve(name);
+        LoadTestPortal portal = new LoadTestPortal();
+        Path settingsFile = docBase.resolve(portal.getSettingsPath().substring(1));
+        Files.createDirectories(settingsFile.getParent());
+        Map<String, Object> app = new LinkedHashMap<>();
+        app.put("context", "/" + name);
+        app.put("origin", Collections.singletonMap("host", keyManagerHost));
+        Files.write(settingsFile, GSON.toJson(Collections.singletonMap("app", app)).getBytes(StandardCharsets.UTF_8));
+
+        Context context = tomcat.addContext("/" + name, docBase.toString());
+        context.addParameter(Portal.CONTEXT_PARAM, LoadTestPortal.class.getName());
+        context.addApplicationListener(ServiceMetricsListener.class.getName());
+        context.addApplicationListener(LoopbackHttpClientListener.class.getName());
+        context.addApplicationListener(ServiceExecutorListener.class.getName());
+        // the tenants of the load test are warmed up before the users log in
+        context.addParameter("warmup.enabled", "true");
+        context.addParameter("warmup.tenants", tenantDomains);
+        context.addApplicationListener(PortalWarmupListener.class.getName());
+        // the system applications are read from the in-memory DAO instead of the database
+        context.addServletContainerInitializer((classes, servletContext) -> servletContext.setAttribute(
+                SystemApplicationCache.CONTEXT_ATTRIBUTE,
+                SystemApplicationCache.create(servletContext, systemApplicationDAO)), null);
+
+        addServlet(context, "introspect", new IntrospectServlet(), INTROSPECT_PATH);
+        addServlet(context, "refresh", new RefreshServlet(), REFRESH_PATH);
+        addServlet(context, "metrics", new MetricsServlet(), "/services/metrics");
+        addServlet(context, "ready", new ReadinessServlet(), READY_PATH);
+
+        FilterDef metricsFilter = new FilterDef();
+        metricsFilter.setFilterName("ServiceMetricsFilter");
+        metricsFilter.setFilterClass(ServiceMetricsFilter.class.getName());
+        metricsFilter.setAsyncSupported("true");
+        context.addFilterDef(metricsFilter);
+        FilterMap metricsFilterMap = new FilterMap();
+        metricsFilterMap.setFilterName("ServiceMetricsFilter");
+        metricsFilterMap.addServletName("introspect");
+        metricsFilterMap.addServletName("refresh");
+        context.addFilterMap(metricsFilterMap);
+    }
+
+    private static void addServlet(Context context, String name, Servlet servlet, String path) {
+        Wrapper wrapper = Tomcat.addServlet(context, name, servlet);
+        wrapper.setAsyncSupported(true);
+        context.addServletMappingDecoded(path, name);
+    }
+}
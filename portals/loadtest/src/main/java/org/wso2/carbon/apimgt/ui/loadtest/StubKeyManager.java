@@ -0,0 +1,451 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stands in for the key manager and the REST APIs the portal services call over the loopback client: the token,
+ * introspection, user info, JWKS and revocation endpoints, DCR and the settings REST API. Every call is answered
+ * after the configured latency, and the configured ratio of calls fails with a 500.
+ * <p>
+ * Tokens are kept in memory. Refresh tokens are rotated like the key manager does, so a refresh token can be
+ * exchanged only once, and revoking either token of a session ends the session.
+ */
+public final class StubKeyManager implements AutoCloseable {
+
+    static final String TOKEN_PATH = "/oauth2/token";
+    static final String INTROSPECT_PATH = "/oauth2/introspect";
+    static final String USER_INFO_PATH = "/oauth2/userinfo";
+    static final String JWKS_PATH = "/oauth2/jwks";
+    static final String REVOKE_PATH = "/oauth2/revoke";
+    static final String DCR_PATH = "/client-registration/v0.17/register";
+    static final String REST_API_PATH = "/api/am/";
+    static final String ISSUER = "https://localhost:9443/oauth2/token";
+    static final String SCOPES = "apim:api_view apim:api_create apim:subscribe apim:admin openid";
+
+    private static final long TOKEN_VALIDITY_SECONDS = 3600;
+    private static final String KEY_ID = "loadtest";
+    private static final Gson GSON = new Gson();
+
+    private final LoadTestConfig config;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final KeyPair signingKey;
+    private final Map<String, String> clients = new ConcurrentHashMap<>();
+    private final Map<String, Session> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, Session> refreshTokens = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    StubKeyManager(LoadTestConfig config) throws IOException {
+        this.config = config;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            this.signingKey = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("RSA is not supported by the JVM", e);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-key-manager-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext(TOKEN_PATH, handler(this::token));
+        server.createContext(INTROSPECT_PATH, handler(this::introspect));
+        server.createContext(USER_INFO_PATH, handler(this::userInfo));
+        server.createContext(JWKS_PATH, handler(this::jwks));
+        server.createContext(REVOKE_PATH, handler(this::revoke));
+        server.createContext(DCR_PATH, handler(this::register));
+        server.createContext(REST_API_PATH, handler(this::settings));
+    }
+
+    void start() {
+        server.start();
+    }
+
+    /**
+     * @return host and port the stub listens at, set as the app.origin.host of the portals
+     */
+    String getHost() {
+        return server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    long getCallCount() {
+        return calls.sum();
+    }
+
+    long getFailureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private Response token(HttpExchange exchange, Map<String, String> params) {
+        String clientId = authenticateClient(exchange);
+        if (clientId == null) {
+            return Response.json(401, error("invalid_client"));
+        }
+        String grantType = params.get("grant_type");
+        Session session;
+        if ("authorization_code".equals(grantType)) {
+            // the driver sends the user and the tenant as the authorization code
+            String[] user = params.getOrDefault("code", "").split(" ", 2);
+            if (user.length != 2) {
+                return Response.json(400, error("invalid_grant"));
+            }
+            session = new Session(user[0], user[1], clientId);
+        } else if ("refresh_token".equals(grantType)) {
+            Session previous = refreshTokens.remove(params.getOrDefault("refresh_token", ""));
+            if (previous == null || !previous.clientId.equals(clientId)) {
+                return Response.json(400, error("invalid_grant"));
+            }
+            accessTokens.remove(previous.accessToken);
+            session = new Session(previous.username, previous.tenantDomain, clientId);
+        } else {
+            return Response.json(400, error("unsupported_grant_type"));
+        }
+        issueTokens(session);
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        tokens.put("access_token", session.accessToken);
+        tokens.put("refresh_token", session.refreshToken);
+        tokens.put("id_token", session.idToken);
+        tokens.put("scope", SCOPES);
+        tokens.put("token_type", "Bearer");
+        tokens.put("expires_in", TOKEN_VALIDITY_SECONDS);
+        return Response.json(200, tokens);
+    }
+
+    private Response introspect(HttpExchange exchange, Map<String, String> params) {
+        if (!new LoadTestPortal().getAdminAuthorization().equals(
+                exchange.getRequestHeaders().getFirst("Authorization"))) {
+            return Response.json(401, error("invalid_client"));
+        }
+        Session session = getActiveSession(params.get("token"));
+        if (session == null) {
+            return Response.json(200, Collections.singletonMap("active", false));
+        }
+        Map<String, Object> introspection = new LinkedHashMap<>();
+        introspection.put("active", true);
+        introspection.put("token_type", "Bearer");
+        introspection.put("client_id", session.clientId);
+        introspection.put("username", session.getSubject());
+        introspection.put("scope", SCOPES);
+        introspection.put("iat", TimeUnit.MILLISECONDS.toSeconds(session.issuedAt));
+        introspection.put("exp", TimeUnit.MILLISECONDS.toSeconds(session.expiresAt));
+        return Response.json(200, introspection);
+    }
+
+    private Response userInfo(HttpExchange exchange, Map<String, String> params) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        Session session = authorization == null ? null : getActiveSession(authorization.replaceFirst("^\\S+ ", ""));
+        if (session == null) {
+            return Response.json(401, error("invalid_token"));
+        }
+        return Response.json(200, Collections.singletonMap("sub", session.getSubject()));
+    }
+
+    private Response jwks(HttpExchange exchange, Map<String, String> params) {
+        RSAPublicKey key = (RSAPublicKey) signingKey.getPublic();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("kid", KEY_ID);
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("n", encode(key.getModulus()));
+        jwk.put("e", encode(key.getPublicExponent()));
+        return Response.json(200, Collections.singletonMap("keys", Collections.singletonList(jwk)));
+    }
+
+    private Response revoke(HttpExchange exchange, Map<String, String> params) {
+        if (authenticateClient(exchange) == null) {
+            return Response.json(401, error("invalid_client"));
+        }
+        String token = params.getOrDefault("token", "");
+        Session session = accessTokens.remove(token);
+        if (session == null) {
+            session = refreshTokens.remove(token);
+        }
+        if (session != null) {
+            accessTokens.remove(session.accessToken);
+            refreshTokens.remove(session.refreshToken);
+        }
+        return Response.json(200, Collections.emptyMap());
+    }
+
+    private Response register(HttpExchange exchange, Map<String, String> params) {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            return Response.json(405, error("invalid_request"));
+        }
+        String clientId = UUID.randomUUID().toString().replace("-", "");
+        String clientSecret = UUID.randomUUID().toString().replace("-", "");
+        clients.put(clientId, clientSecret);
+        Map<String, Object> application = new LinkedHashMap<>();
+        application.put("clientId", clientId);
+        application.put("clientSecret", clientSecret);
+        application.put("clientName", params.get("clientName"));
+        application.put("callBackURL", params.get("callbackUrl"));
+        application.put("isSaasApplication", true);
+        return Response.json(201, application);
+    }
+
+    private Response settings(HttpExchange exchange, Map<String, String> params) {
+        if (!exchange.getRequestURI().getPath().endsWith("/settings")) {
+            return Response.json(404, error("not_found"));
+        }
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("scopes", SCOPES.split(" "));
+        settings.put("isJWTEnabledForLoginTokens", config.jwtTokens);
+        return Response.json(200, settings);
+    }
+
+    private void issueTokens(Session session) {
+        if (config.jwtTokens) {
+            Map<String, Object> claims = new LinkedHashMap<>();
+            claims.put("sub", session.getSubject());
+            claims.put("aud", session.clientId);
+            claims.put("azp", session.clientId);
+            claims.put("iss", ISSUER);
+            claims.put("scope", SCOPES);
+            claims.put("iat", TimeUnit.MILLISECONDS.toSeconds(session.issuedAt));
+            claims.put("exp", TimeUnit.MILLISECONDS.toSeconds(session.expiresAt));
+            claims.put("jti", UUID.randomUUID().toString());
+            session.accessToken = sign(claims);
+        } else {
+            session.accessToken = UUID.randomUUID().toString();
+        }
+        session.refreshToken = UUID.randomUUID().toString();
+        Map<String, Object> idClaims = new LinkedHashMap<>();
+        idClaims.put("sub", session.getSubject());
+        idClaims.put("aud", session.clientId);
+        idClaims.put("iss", ISSUER);
+        idClaims.put("exp", TimeUnit.MILLISECONDS.toSeconds(session.expiresAt));
+        session.idToken = sign(idClaims);
+        accessTokens.put(session.accessToken, session);
+        refreshTokens.put(session.refreshToken, session);
+    }
+
+    private String sign(Map<String, Object> claims) {
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + KEY_ID + "\"}";
+        String signingInput = encode(header) + "." + encode(GSON.toJson(claims));
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(signingKey.getPrivate());
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign the token", e);
+        }
+    }
+
+    private Session getActiveSession(String token) {
+        Session session = token == null ? null : accessTokens.get(token);
+        if (session != null && session.expiresAt <= System.currentTimeMillis()) {
+            accessTokens.remove(token);
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * @return client id of the Basic credentials of the request, or null if they are not of a registered client
+     */
+    private String authenticateClient(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            return null;
+        }
+        String[] credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authorization.substring(6)), StandardCharsets.UTF_8)
+                    .split(":", 2);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return credentials.length == 2 && credentials[1].equals(clients.get(credentials[0])) ? credentials[0] : null;
+    }
+
+    private HttpHandler handler(Endpoint endpoint) {
+        return exchange -> {
+            try {
+                calls.increment();
+                Map<String, String> params = readParams(exchange);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long delay = config.latencyMillis + (config.jitterMillis > 0 ? random.nextLong(config.jitterMillis + 1)
+                        : 0);
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+                Response response;
+                if (config.errorRate > 0 && random.nextDouble() < config.errorRate) {
+                    failures.increment();
+                    response = Response.json(500, error("server_error"));
+                } else {
+                    response = endpoint.handle(exchange, params);
+                }
+                byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(response.status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // HttpExchange is AutoCloseable only from JDK 18 onwards
+                exchange.close();
+            }
+        };
+    }
+
+    /**
+     * Reads the query and the body parameters of the request. The body is either form encoded or, as sent by the
+     * refresh service, a json object.
+     */
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        addFormParams(params, exchange.getRequestURI().getRawQuery());
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        if (body.startsWith("{")) {
+            try {
+                Map<?, ?> json = GSON.fromJson(body, Map.class);
+                for (Map.Entry<?, ?> entry : json.entrySet()) {
+                    params.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+                }
+            } catch (JsonParseException e) {
+                // answered as a request without parameters
+            }
+        } else {
+            addFormParams(params, body);
+        }
+        return params;
+    }
+
+    private static void addFormParams(Map<String, String> params, String form) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static Map<String, String> error(String code) {
+        return Collections.singletonMap("error", code);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int offset = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOfRange(bytes, offset, bytes.length));
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+
+        Response handle(HttpExchange exchange, Map<String, String> params);
+    }
+
+    private static final class Response {
+
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response json(int status, Object body) {
+            return new Response(status, GSON.toJson(body));
+        }
+    }
+
+    private static final class Session {
+
+        private final String username;
+        private final String tenantDomain;
+        private final String clientId;
+        private final long issuedAt = System.currentTimeMillis();
+        private final long expiresAt = issuedAt + TimeUnit.SECONDS.toMillis(TOKEN_VALIDITY_SECONDS);
+        private String accessToken;
+        private String refreshToken;
+        private String idToken;
+
+        private Session(String username, String tenantDomain, String clientId) {
+            this.username = username;
+            this.tenantDomain = tenantDomain;
+            this.clientId = clientId;
+        }
+
+        String getSubject() {
+            return username + "@" + tenantDomain;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC (https://www.wso2.com).
+ *
+ *  WSO2 LLC licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.ui.publisher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.ui.common.portal.Portal;
+import org.wso2.carbon.apimgt.ui.common.tenant.TenantContext;
+import org.wso2.carbon.registry.api.RegistryException;
+
+/**
+ * Publisher specifics of the services shared by the portals
+ */
+public class PublisherPortal implements Portal {
+
+    private static final String[] LEGACY_CLIENT_APP_NAMES = {"admin_publisher"};
+    private static final List<String> SETTINGS_API_PATHS = Collections.unmodifiableList(Arrays.asList(
+            "/api/am/publisher/v4/settings",
+            "/api/am/service-catalog/v1/settings"));
+    private static final Map<String, String> API_ACCESS_TOKEN_COOKIES;
+
+    static {
+        Map<String, String> cookies = new LinkedHashMap<>();
+        cookies.put("/api/am/publisher/", "AM_ACC_TOKEN_DEFAULT_P2");
+        cookies.put("/api/am/governance/", "AM_PUBLISHER_ACC_TOKEN_DEFAULT_P2");
+        cookies.put("/api/am/service-catalog/v1/", "AM_ACC_TOKEN_DEFAULT_P2");
+        API_ACCESS_TOKEN_COOKIES = Collections.unmodifiableMap(cookies);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "publisher portal";
+    }
+
+    @Override
+    public String getSettingsPath() {
+        return "/site/public/conf/settings.json";
+    }
+
+    @Override
+    public String getClientAppName() {
+        return "apim_publisher";
+    }
+
+    @Override
+    public String[] getLegacyClientAppNames() {
+        return LEGACY_CLIENT_APP_NAMES.clone();
+    }
+
+    @Override
+    public String getContext(HttpServletRequest request, Map settings) throws APIManagementException {
+        return Util.getTenantBasePublisherContext(request, Util.readJsonString(settings, "app.context"));
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(HttpServletRequest request) throws APIManagementException {
+        try {
+            return Util.getServiceProviderTenantDomain(request);
+        } catch (RegistryException e) {
+            throw new APIManagementException("Error while resolving the service provider tenant", e);
+        }
+    }
+
+    @Override
+    public String getServiceProviderTenantDomain(TenantContext tenantContext) throws APIManagementException {
+        return Util.getServiceProviderTenantDomain(tenantContext);
+    }
+
+    @Override
+    public void warmUp(TenantContext tenantContext) throws APIManagementException {
+        Util.warmUp(tenantContext);
+    }
+
+    @Override
+    public List<String> getSettingsApiPaths() {
+        return SETTINGS_API_PATHS;
+    }
+
+    @Override
+    public String getLoopbackOrigin(String host) {
+        return Util.getLoopbackOrigin(host);
+    }
+
+    @Override
+    public String getUserInfoAuthorization(String token) {
+        return "Basic " + token;
+    }
+
+    @Override
+    public Map<String, String> getApiAccessTokenCookies() {
+        return API_ACCESS_TOKEN_COOKIES;
+    }
+
+    @Override
+    public Map introspected(Map introspection) {
+        return introspection;
+    }
+}
@@ -24,15 +24,19 @@
 <%@page import="org.apache.commons.logging.LogFactory"%>
 <%@page import="org.apache.commons.logging.Log"%>
 <%@page import="java.util.HashMap"%>
-<%@page import="java.util.concurrent.Semaphore"%>
 <%@page import="org.wso2.carbon.apimgt.impl.dto.SystemApplicationDTO"%>
-<%@page import="org.wso2.carbon.apimgt.impl.dao.SystemApplicationDAO"%>
+<%@page import="org.wso2.carbon.apimgt.api.APIManagementException"%>
 <%@page import="com.google.gson.Gson"%>
 <%@page import="com.google.gson.GsonBuilder"%>
-<%@page import="java.net.URI"%>
 <%@page import="java.net.http.HttpResponse"%>
 <%@page import="java.net.http.HttpRequest"%>
-<%@page import="java.net.http.HttpClient"%>
+<%@page import="java.net.http.HttpTimeoutException"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.auth.SystemApplicationCache"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.ForwardedHostValidator"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.LoopbackHttpClient"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.UpstreamRejectedException"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.metrics.Upstream"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.services.ServiceErrors"%>
 <%@page import="org.wso2.carbon.apimgt.impl.IDPConfiguration"%>
 <%@page import="org.wso2.carbon.apimgt.impl.utils.APIUtil"%>
 <%@page import="org.wso2.carbon.apimgt.ui.publisher.Util"%>
@@ -49,37 +53,19 @@
     String appContext = Util.getAppContextForServerUrl((String) Util.readJsonObj(settings, "app.context"), (String) Util.readJsonObj(settings, "app.proxy_context_path"));
     String serverUrl = "";
     String forwarded_for = request.getHeader((String) Util.readJsonObj(settings, "app.customUrl.forwardedHeader"));
-    boolean customUrlEnabled = (boolean) Util.readJsonObj(settings, "app.customUrl.enabled");
+    boolean customUrlEnabled = Util.readJsonBoolean(settings, "app.customUrl.enabled", false);
 
     // Host validation against app.customUrl.allowedHosts
     boolean isHostValid = true;
     if (customUrlEnabled && forwarded_for != null && !forwarded_for.isEmpty()) {
-        // Check if allowedHosts is configured
-        List<String> allowedHosts = (List<String>) Util.readJsonObj(settings, "app.customUrl.allowedHosts");
-
-        if (allowedHosts != null && !allowedHosts.isEmpty()) {
-        // Extract hostname from forwarded_for (remove port if present)
-            String forwardedHost = forwarded_for;
-            if (forwardedHost.contains(":")) {
-                forwardedHost = forwardedHost.substring(0, forwardedHost.indexOf(":"));
-            }
-
-            isHostValid = false;
-            for (String allowedHost : allowedHosts) {
-                if (allowedHost != null && allowedHost.equalsIgnoreCase(forwardedHost)) {
-                    isHostValid = true;
-                    break;
-                }
-            }
-
-            if (!isHostValid) {
-                log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
-                response.setStatus(400);
-                response.setContentType("text/html");
-                out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
-                    "<h4>Host validation failed for the request</h4></body></html>");
-                return;
-            }
+        isHostValid = ForwardedHostValidator.get(settings).isAllowed(forwarded_for);
+        if (!isHostValid) {
+            log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
+            response.setStatus(400);
+            response.setContentType("text/html");
+            out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
+                "<h4>Host validation failed for the request</h4></body></html>");
+            return;
         }
     }
 
@@ -99,16 +85,26 @@
     String settingsAPIUrl = Util.getLoopbackOrigin(host) + SETTINGS_REST_API_URL_SUFFIX;
     String serviceCatalogSettingsAPIUrl = Util.getLoopbackOrigin(host) + SERVICE_CATALOG_SETTINGS_REST_API_URL_SUFFIX;
 
-    HttpClient client = HttpClient.newHttpClient();
-    HttpRequest getSettingsReq = HttpRequest.newBuilder()
-            .uri(URI.create(settingsAPIUrl))
-            .build();
-    HttpResponse<String> settingsResult = client.send(getSettingsReq, HttpResponse.BodyHandlers.ofString());
+    LoopbackHttpClient loopbackClient = LoopbackHttpClient.get(request.getServletContext());
 
-    HttpRequest getCatalogReq = HttpRequest.newBuilder()
-            .uri(URI.create(serviceCatalogSettingsAPIUrl))
+    HttpRequest getSettingsReq = loopbackClient.newRequest(settingsAPIUrl)
+            .build();
+    HttpRequest getCatalogReq = loopbackClient.newRequest(serviceCatalogSettingsAPIUrl)
             .build();
-    HttpResponse<String> serviceCatalogResult = client.send(getCatalogReq, HttpResponse.BodyHandlers.ofString());
+    HttpResponse<String> settingsResult;
+    HttpResponse<String> serviceCatalogResult;
+    try {
+        settingsResult = loopbackClient.send(Upstream.SETTINGS, getSettingsReq, HttpResponse.BodyHandlers.ofString());
+        serviceCatalogResult = loopbackClient.send(Upstream.SETTINGS, getCatalogReq, HttpResponse.BodyHandlers.ofString());
+    } catch (UpstreamRejectedException e) {
+        log.debug("Settings REST API is busy, the login is rejected");
+        ServiceErrors.sendUnavailable(response, e.getRetryAfterSeconds(), "Key manager is busy, please retry");
+        return;
+    } catch (HttpTimeoutException e) {
+        log.warn("Settings REST API did not respond in time");
+        ServiceErrors.sendTimeout(response, "Settings request timed out");
+        return;
+    }
 
     boolean responseFailed = false;
     String errorLogin = serverUrl + appContext + "/error-pages?code=";
@@ -154,67 +150,55 @@
 
     String authorizationHeader = "Basic " + APIUtil.getBase64EncodedAdminCredentials();
 
-    SystemApplicationDAO systemApplicationDAO = new SystemApplicationDAO();
-    String clientId = "";
+    SystemApplicationCache systemApplicationCache = SystemApplicationCache.get(request.getServletContext());
     String serviceProviderTenantDomain = Util.getServiceProviderTenantDomain(request);
 
     // this is to support migration from admin_store to admin_devportal
-    SystemApplicationDTO systemApplicationDTO = systemApplicationDAO.getClientCredentialsForApplication(PUBLISHER_CLIENT_APP_NAME, serviceProviderTenantDomain);
-    if (systemApplicationDTO == null) {
-        systemApplicationDTO = systemApplicationDAO.getClientCredentialsForApplication(PUBLISHER_CLIENT_APP_NAME_OLD, serviceProviderTenantDomain);
-    }
-
-    Semaphore lock = SystemApplicationDAO.getLock();
-    if (systemApplicationDTO != null) {
-        clientId = systemApplicationDTO.getConsumerKey();
-    } else {
-        try {
-            lock.acquire();
-            systemApplicationDTO = systemApplicationDAO.getClientCredentialsForApplication(PUBLISHER_CLIENT_APP_NAME, serviceProviderTenantDomain);
-            if (systemApplicationDTO == null) {
-                systemApplicationDTO = systemApplicationDAO.getClientCredentialsForApplication(PUBLISHER_CLIENT_APP_NAME_OLD, serviceProviderTenantDomain);
-            }
-            if (systemApplicationDTO == null) {
-                HashMap<String, Object> dcrRequestData = new HashMap();
-                dcrRequestData.put("callbackUrl", callbackUrl);
-                dcrRequestData.put("clientName", PUBLISHER_CLIENT_APP_NAME);
-                dcrRequestData.put("owner", (String) APIUtil.getTenantAdminUserName(serviceProviderTenantDomain));
-                dcrRequestData.put("grantType", "authorization_code refresh_token");
-                dcrRequestData.put("saasApp", true);
-
-                Object isJWTEnabledObj = Util.readJsonObj(settingsResponse, "isJWTEnabledForLoginTokens");
-                if (isJWTEnabledObj != null && isJWTEnabledObj instanceof Boolean) {
-                    boolean isJWTEnabledForLoginTokens = (boolean) isJWTEnabledObj;
-                    if (isJWTEnabledForLoginTokens) {
-                        dcrRequestData.put("tokenType", "JWT");
-                        dcrRequestData.put("userStoreDomainInSubject", true);
-                    }
-                }
-
-                HttpRequest postReq = HttpRequest.newBuilder()
-                        .uri(URI.create(dcrUrl))
-                        .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(dcrRequestData)))
-                        .header("Authorization", authorizationHeader)
-                        .header("Content-Type", "application/json")
-                        .build();
-                HttpResponse<String> dcrResult = client.send(postReq, HttpResponse.BodyHandlers.ofString());
-                Map dcrResponse = gson.fromJson(dcrResult.body(), Map.class);
-                clientId = (String) dcrResponse.get("clientId");
-                String clientSecret = (String) dcrResponse.get("clientSecret");
-
-                log.debug("Client ID = " + clientId);
-                boolean addApplicationKey = systemApplicationDAO.addApplicationKey(PUBLISHER_CLIENT_APP_NAME, clientId, clientSecret, serviceProviderTenantDomain);
-                if (!addApplicationKey) {
-                    log.error("Error while persisting application information in system application DB table!!");
-                    log.error("Client ID = " + clientId);
+    // concurrent first logins of the same tenant share a single registration, other tenants are not blocked by it
+    SystemApplicationDTO systemApplicationDTO;
+    try {
+        systemApplicationDTO = systemApplicationCache.getOrRegister(PUBLISHER_CLIENT_APP_NAME, serviceProviderTenantDomain, () -> {
+            HashMap<String, Object> dcrRequestData = new HashMap();
+            dcrRequestData.put("callbackUrl", callbackUrl);
+            dcrRequestData.put("clientName", PUBLISHER_CLIENT_APP_NAME);
+            dcrRequestData.put("owner", (String) APIUtil.getTenantAdminUserName(serviceProviderTenantDomain));
+            dcrRequestData.put("grantType", "authorization_code refresh_token");
+            dcrRequestData.put("saasApp", true);
+
+            Object isJWTEnabledObj = Util.readJsonObj(settingsResponse, "isJWTEnabledForLoginTokens");
+            if (isJWTEnabledObj != null && isJWTEnabledObj instanceof Boolean) {
+                boolean isJWTEnabledForLoginTokens = (boolean) isJWTEnabledObj;
+                if (isJWTEnabledForLoginTokens) {
+                    dcrRequestData.put("tokenType", "JWT");
+                    dcrRequestData.put("userStoreDomainInSubject", true);
                 }
             }
-        } finally {
-            lock.release();
+
+            HttpRequest postReq = loopbackClient.newRequest(dcrUrl)
+                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(dcrRequestData)))
+                    .header("Authorization", authorizationHeader)
+                    .header("Content-Type", "application/json")
+                    .build();
+            HttpResponse<String> dcrResult = loopbackClient.send(Upstream.DCR, postReq, HttpResponse.BodyHandlers.ofString());
+            Map dcrResponse = gson.fromJson(dcrResult.body(), Map.class);
+            SystemApplicationDTO registeredApplication = new SystemApplicationDTO();
+            registeredApplication.setConsumerKey((String) dcrResponse.get("clientId"));
+            registeredApplication.setConsumerSecret((String) dcrResponse.get("clientSecret"));
+            return registeredApplication;
+        }, PUBLISHER_CLIENT_APP_NAME_OLD);
+    } catch (APIManagementException e) {
+        UpstreamRejectedException rejected = ServiceErrors.findRejection(e);
+        if (rejected == null) {
+            throw e;
         }
+        log.debug("DCR endpoint is busy, the login is rejected");
+        ServiceErrors.sendUnavailable(response, rejected.getRetryAfterSeconds(), "Key manager is busy, please retry");
+        return;
     }
+    String clientId = systemApplicationDTO.getConsumerKey();
+    log.debug("Client ID = " + clientId);
 
-    boolean isPKCEEnabled = systemApplicationDAO.isPKCEEnabled(clientId);
+    boolean isPKCEEnabled = systemApplicationCache.isPKCEEnabled(clientId);
     String pkceParams = "";
     if (isPKCEEnabled) {
        String codeVerifier = APIUtil.generateCodeVerifier();
@@ -19,15 +19,15 @@
 
 <%@page import="org.wso2.carbon.apimgt.ui.publisher.Util"%>
 <%@page import="java.util.Map"%>
-<%@page import="com.google.gson.GsonBuilder"%>
-<%@page import="com.google.gson.Gson"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.CachedScript"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.ScriptResponseCache"%>
 
 <%@ page trimDirectiveWhitespaces="true" %>
 
 <%
     Map portalSettings = Util.readJsonFile("site/public/conf/portalSettings.json", request.getServletContext());
-    response.setContentType("application/javascript");
-    Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    String content = "const Settings = " + gson.toJson(portalSettings) + ";";
-    out.println(content);
+    CachedScript script = ScriptResponseCache.getInstance().get("publisher|portalSettings",
+            ScriptResponseCache.fingerprint(portalSettings),
+            () -> ScriptResponseCache.toScript("Settings", portalSettings));
+    script.send(request, response);
 %>
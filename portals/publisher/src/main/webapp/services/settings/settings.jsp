@@ -18,12 +18,11 @@
 
 <%@page import="org.apache.commons.logging.LogFactory"%>
 <%@page import="org.apache.commons.logging.Log"%>
-<%@page import="com.google.gson.GsonBuilder"%>
-<%@page import="com.google.gson.Gson"%>
 <%@page import="java.util.HashMap"%>
-<%@page import="com.google.gson.JsonObject"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.http.ForwardedHostValidator"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.CachedScript"%>
+<%@page import="org.wso2.carbon.apimgt.ui.common.script.ScriptResponseCache"%>
 <%@page import="org.wso2.carbon.apimgt.ui.publisher.Util"%>
-<%@page import="java.util.List"%>
 <%@page import="java.util.Map"%>
 
 <%@ page trimDirectiveWhitespaces="true" %>
@@ -32,40 +31,21 @@
     Log log = LogFactory.getLog(this.getClass());
     Map settings = Util.readJsonFile("/site/public/conf/settings.json", request.getServletContext());
     String context = Util.getTenantBasePublisherContext(request, (String) Util.readJsonObj(settings, "app.context"));
-    response.setContentType("application/javascript");
 
     String serverUrl = "";
     String forwarded_for = request.getHeader((String) Util.readJsonObj(settings, "app.customUrl.forwardedHeader"));
-    boolean customUrlEnabled = (boolean) Util.readJsonObj(settings, "app.customUrl.enabled");
+    boolean customUrlEnabled = Util.readJsonBoolean(settings, "app.customUrl.enabled", false);
     // Host validation against app.customUrl.allowedHosts
     boolean isHostValid = true;
     if (customUrlEnabled && forwarded_for != null && !forwarded_for.isEmpty()) {
-        // Check if allowedHosts is configured
-        List<String> allowedHosts = (List<String>) Util.readJsonObj(settings, "app.customUrl.allowedHosts");
-
-        if (allowedHosts != null && !allowedHosts.isEmpty()) {
-            // Extract hostname from forwarded_for (remove port if present)
-            String forwardedHost = forwarded_for;
-            if (forwardedHost.contains(":")) {
-                forwardedHost = forwardedHost.substring(0, forwardedHost.indexOf(":"));
-            }
-
-            isHostValid = false;
-            for (String allowedHost : allowedHosts) {
-                if (allowedHost != null && allowedHost.equalsIgnoreCase(forwardedHost)) {
-                    isHostValid = true;
-                    break;
-                }
-            }
-
-            if (!isHostValid) {
-                log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
-                response.setStatus(400);
-                response.setContentType("text/html");
-                out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
-                    "<h4>Host validation failed for the request</h4></body></html>");
-                return;
-            }
+        isHostValid = ForwardedHostValidator.get(settings).isAllowed(forwarded_for);
+        if (!isHostValid) {
+            log.warn("Blocked request with untrusted host header: " + forwarded_for.replaceAll("[\r\n]", ""));
+            response.setStatus(400);
+            response.setContentType("text/html");
+            out.println("<html><head></head><body><h2>Error 400 : Bad Request</h2><br/><p>"+
+                "<h4>Host validation failed for the request</h4></body></html>");
+            return;
         }
     }
 
@@ -90,8 +70,15 @@
 
     Map appObj = (Map) settings.get("app");
     appObj.put("context", context);
-    Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    String content = "const AppConfig = " + gson.toJson(settings) + ";";
 
-    out.println(content);
+    // The script only changes with settings.json, the tenant and the forwarded host, hence serve it from the cache
+    String forwardedHost = customUrlEnabled && forwarded_for != null && !forwarded_for.isEmpty() ? forwarded_for : "";
+    String cacheKey = "publisher|" + Util.getTenantDomain(request) + "|" + forwardedHost;
+    String fingerprint = ScriptResponseCache.fingerprint(settings, context, serverUrl, customIDPCheckSessionEndpoint);
+    CachedScript script = ScriptResponseCache.getInstance().get(cacheKey, fingerprint,
+            () -> ScriptResponseCache.toScript("AppConfig", settings));
+    String forwardedHeader = (String) Util.readJsonObj(settings, "app.customUrl.forwardedHeader");
+    response.setHeader("Vary", forwardedHeader == null || forwardedHeader.trim().isEmpty()
+            ? "X-WSO2-Tenant" : "X-WSO2-Tenant, " + forwardedHeader.trim());
+    script.send(request, response);
 %>